@@ -0,0 +1,154 @@
+package com.redesocial.rede_social_api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latências (HdrHistogram, em microssegundos) e respostas por classe de status de cada operação de uma rodada.
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    static final String[] PERCENTILES = {"p50", "p90", "p99", "p999"};
+    private static final double[] PERCENTILE_VALUES = {50, 90, 99, 99.9};
+
+    private final Map<Workload.Operation, Stats> stats = new EnumMap<>(Workload.Operation.class);
+    private long elapsedNanos;
+
+    LatencyReport() {
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    // status 0 = falha de I/O ou timeout, sem resposta do servidor.
+    void record(Workload.Operation operation, long latencyNanos, int status) {
+        Stats s = stats.get(operation);
+        s.latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (status >= 200 && status < 300) {
+            s.success.increment();
+        } else if (status >= 400 && status < 500) {
+            s.clientErrors.increment();
+        } else {
+            s.serverErrors.increment();
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    long totalRequests() {
+        long total = 0;
+        for (Stats s : stats.values()) {
+            total += s.latency.getTotalCount();
+        }
+        return total;
+    }
+
+    double throughput(long requests) {
+        return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+    }
+
+    double percentileMillis(Workload.Operation operation, String percentile) {
+        Histogram latency = stats.get(operation).latency;
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            if (PERCENTILES[i].equals(percentile)) {
+                return latency.getValueAtPercentile(PERCENTILE_VALUES[i]) / 1000.0;
+            }
+        }
+        throw new IllegalArgumentException("Percentil desconhecido: " + percentile);
+    }
+
+    Map<String, Object> endpointsToMap() {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<Workload.Operation, Stats> entry : stats.entrySet()) {
+            Workload.Operation operation = entry.getKey();
+            Stats s = entry.getValue();
+            long requests = s.latency.getTotalCount();
+            if (requests == 0) {
+                continue;
+            }
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("endpoint", operation.endpoint);
+            endpoint.put("requests", requests);
+            endpoint.put("throughputPerSecond", round(throughput(requests)));
+            endpoint.put("success", s.success.sum());
+            endpoint.put("clientErrors", s.clientErrors.sum());
+            endpoint.put("serverErrors", s.serverErrors.sum());
+            Map<String, Object> latency = new LinkedHashMap<>();
+            for (String percentile : PERCENTILES) {
+                latency.put(percentile, round(percentileMillis(operation, percentile)));
+            }
+            latency.put("max", round(s.latency.getMaxValue() / 1000.0));
+            latency.put("mean", round(s.latency.getMean() / 1000.0));
+            endpoint.put("latencyMillis", latency);
+            endpoints.put(operation.name, endpoint);
+        }
+        return endpoints;
+    }
+
+    // Orçamentos no formato <operação>.<percentil>=<ms>, por exemplo timeline.p99=50.
+    List<Map<String, Object>> checkBudgets(Properties budgets) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String key : budgets.stringPropertyNames()) {
+            int dot = key.lastIndexOf('.');
+            if (dot < 0) {
+                throw new IllegalArgumentException("Orçamento inválido (esperado <operação>.<percentil>): " + key);
+            }
+            Workload.Operation operation = Workload.Operation.byName(key.substring(0, dot));
+            String percentile = key.substring(dot + 1);
+            double budget = Double.parseDouble(budgets.getProperty(key).trim());
+            if (stats.get(operation).latency.getTotalCount() == 0) {
+                continue;
+            }
+            double actual = percentileMillis(operation, percentile);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("operation", operation.name);
+            result.put("percentile", percentile);
+            result.put("budgetMillis", budget);
+            result.put("actualMillis", round(actual));
+            result.put("passed", actual <= budget);
+            results.add(result);
+        }
+        return results;
+    }
+
+    void printSummary() {
+        System.out.printf("%-12s %-36s %9s %9s %8s %8s %8s %8s %8s%n",
+                "operação", "endpoint", "req", "req/s", "erros", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Workload.Operation, Stats> entry : stats.entrySet()) {
+            Workload.Operation operation = entry.getKey();
+            Stats s = entry.getValue();
+            long requests = s.latency.getTotalCount();
+            if (requests == 0) {
+                continue;
+            }
+            System.out.printf("%-12s %-36s %9d %9.1f %8d %8.2f %8.2f %8.2f %8.2f%n",
+                    operation.name, operation.endpoint, requests, throughput(requests),
+                    s.clientErrors.sum() + s.serverErrors.sum(),
+                    percentileMillis(operation, "p50"), percentileMillis(operation, "p99"),
+                    percentileMillis(operation, "p999"), s.latency.getMaxValue() / 1000.0);
+        }
+        long total = totalRequests();
+        System.out.printf("Total: %d requisições, %.1f req/s%n", total, throughput(total));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static final class Stats {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder success = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+    }
+}
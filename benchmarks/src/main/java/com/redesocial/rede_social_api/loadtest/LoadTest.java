@@ -0,0 +1,170 @@
+package com.redesocial.rede_social_api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.redesocial.rede_social_api.RedeSocialApiApplication;
+import com.redesocial.rede_social_api.service.FollowGraphIndex;
+import com.redesocial.rede_social_api.service.PostSearchIndex;
+import com.redesocial.rede_social_api.service.TimelineService;
+import com.redesocial.rede_social_api.service.TrendingService;
+import com.redesocial.rede_social_api.service.UserIdentityFilter;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+// Teste de carga ponta a ponta: sobe a aplicação com servidor HTTP, gera um grafo social em lei de potência no banco,
+// aquece, mede por durationSeconds e grava um relatório JSON com vazão e p50/p90/p99/p999 por endpoint. Sai com
+// código 1 se algum orçamento de latência (--budgets) for estourado.
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Properties budgets = loadBudgets(config.budgets);
+        int exitCode;
+        ConfigurableApplicationContext context = start(config);
+        try {
+            waitUntilReady(context);
+            System.out.printf("Gerando grafo sintético com %d usuários...%n", config.users);
+            PowerLawGraph.Dataset dataset = PowerLawGraph.generate(context.getBean(JdbcTemplate.class), config);
+            System.out.printf("Grafo gerado em %d ms: %d follows, %d posts, %d curtidas.%n",
+                    dataset.generationMillis(), dataset.follows(), dataset.posts(), dataset.likes());
+            reloadInMemoryState(context);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Workload workload = new Workload(config, dataset, "http://localhost:" + port);
+            if (config.warmupSeconds > 0) {
+                System.out.printf("Aquecendo por %d s...%n", config.warmupSeconds);
+                workload.run(config.warmupSeconds);
+            }
+            System.out.printf("Medindo por %d s com %d clientes...%n", config.durationSeconds, config.clients);
+            LatencyReport report = workload.run(config.durationSeconds);
+            report.printSummary();
+
+            List<Map<String, Object>> budgetResults = report.checkBudgets(budgets);
+            writeReport(config, dataset, report, budgetResults);
+            exitCode = 0;
+            for (Map<String, Object> result : budgetResults) {
+                if (!(Boolean) result.get("passed")) {
+                    System.out.printf("Orçamento estourado: %s %s = %.2f ms (limite %.2f ms)%n", result.get("operation"),
+                            result.get("percentile"), result.get("actualMillis"), result.get("budgetMillis"));
+                    exitCode = 1;
+                }
+            }
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestConfig config) {
+        List<String> properties = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.profiles.active=" + config.profiles,
+                "--spring.datasource.url=" + config.datasourceUrl,
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.redesocial.rede_social_api=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springdoc=WARN",
+                "--logging.level.io.swagger=WARN",
+                // Follows repetidos violam a chave única e viram 409; não poluir a saída com cada um.
+                "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF",
+                "--logging.level.com.redesocial.rede_social_api.service.FollowService=ERROR",
+                "--redesocial.timeline.fanout-enabled=" + config.fanout));
+        if (config.datasourceUrl.startsWith("jdbc:h2:")) {
+            properties.add("--spring.datasource.username=sa");
+            properties.add("--spring.datasource.password=");
+            properties.add("--spring.datasource.driver-class-name=org.h2.Driver");
+        }
+        return new SpringApplicationBuilder(RedeSocialApiApplication.class).run(properties.toArray(new String[0]));
+    }
+
+    // Os carregadores de startup rodam em @Async sobre o banco ainda vazio; espera terminarem antes de gerar os dados.
+    private static void waitUntilReady(ConfigurableApplicationContext context) throws InterruptedException {
+        List<BooleanSupplier> loaders = List.of(
+                context.getBean(FollowGraphIndex.class)::isReady,
+                context.getBean(PostSearchIndex.class)::isReady,
+                context.getBean(UserIdentityFilter.class)::isReady);
+        for (BooleanSupplier ready : loaders) {
+            while (!ready.getAsBoolean()) {
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    // Os dados foram inseridos por fora da aplicação: recarrega os índices em memória de forma síncrona (sem o proxy @Async).
+    private static void reloadInMemoryState(ConfigurableApplicationContext context) {
+        target(context.getBean(FollowGraphIndex.class)).rebuild();
+        target(context.getBean(UserIdentityFilter.class)).load();
+        target(context.getBean(PostSearchIndex.class)).rebuild();
+        target(context.getBean(TimelineService.class)).loadPullAccounts();
+        TransactionTemplate readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        TrendingService trendingService = target(context.getBean(TrendingService.class));
+        readOnly.executeWithoutResult(status -> trendingService.seed());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T target(T bean) {
+        Object target = AopProxyUtils.getSingletonTarget(bean);
+        return target != null ? (T) target : bean;
+    }
+
+    private static Properties loadBudgets(String path) throws IOException {
+        Properties budgets = new Properties();
+        if (!path.isBlank()) {
+            try (InputStream in = Files.newInputStream(Path.of(path))) {
+                budgets.load(in);
+            }
+        }
+        return budgets;
+    }
+
+    private static void writeReport(LoadTestConfig config, PowerLawGraph.Dataset dataset, LatencyReport report,
+                                    List<Map<String, Object>> budgetResults) throws IOException {
+        long total = report.totalRequests();
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("label", config.label);
+        root.put("finishedAt", Instant.now().toString());
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        root.put("environment", environment);
+        root.put("config", config.toMap());
+        root.put("dataset", dataset.toMap());
+        root.put("totalRequests", total);
+        root.put("throughputPerSecond", Math.round(report.throughput(total) * 1000) / 1000.0);
+        root.put("endpoints", report.endpointsToMap());
+        root.put("budgets", budgetResults);
+
+        File file = new File(config.report);
+        if (file.getParentFile() != null) {
+            Files.createDirectories(file.getParentFile().toPath());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, root);
+        System.out.printf("Relatório gravado em %s%n", file.getAbsolutePath());
+    }
+}
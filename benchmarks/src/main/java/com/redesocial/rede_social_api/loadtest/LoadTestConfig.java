@@ -0,0 +1,90 @@
+package com.redesocial.rede_social_api.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Parâmetros do teste de carga, passados como --nome=valor (ver README).
+final class LoadTestConfig {
+
+    // Grafo sintético
+    int users = 10_000;
+    double followsPerUser = 30;
+    double postsPerUser = 10;
+    double likesPerUser = 20;
+    // Expoente da lei de Zipf usada para escolher quem é seguido e quais posts são curtidos.
+    double popularityExponent = 1.0;
+    long seed = 42;
+
+    // Carga
+    int clients = 32;
+    int warmupSeconds = 10;
+    int durationSeconds = 30;
+    // Requisições por segundo somando todos os clientes; 0 = laço fechado (cada cliente espera a resposta anterior).
+    double rate = 0;
+    String mix = "timeline=50,post=15,userPosts=10,followers=5,createPost=5,like=10,follow=5";
+
+    // Aplicação e relatório
+    String datasourceUrl = "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MySQL";
+    String profiles = "prod";
+    boolean fanout = true;
+    String report = "target/loadtest-report.json";
+    String budgets = "";
+    String label = "";
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Parâmetro inválido (esperado --nome=valor): " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "users" -> config.users = Integer.parseInt(value);
+                case "followsPerUser" -> config.followsPerUser = Double.parseDouble(value);
+                case "postsPerUser" -> config.postsPerUser = Double.parseDouble(value);
+                case "likesPerUser" -> config.likesPerUser = Double.parseDouble(value);
+                case "popularityExponent" -> config.popularityExponent = Double.parseDouble(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "clients" -> config.clients = Integer.parseInt(value);
+                case "warmupSeconds" -> config.warmupSeconds = Integer.parseInt(value);
+                case "durationSeconds" -> config.durationSeconds = Integer.parseInt(value);
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "mix" -> config.mix = value;
+                case "datasourceUrl" -> config.datasourceUrl = value;
+                case "profiles" -> config.profiles = value;
+                case "fanout" -> config.fanout = Boolean.parseBoolean(value);
+                case "report" -> config.report = value;
+                case "budgets" -> config.budgets = value;
+                case "label" -> config.label = value;
+                default -> throw new IllegalArgumentException("Parâmetro desconhecido: " + name);
+            }
+        }
+        if (config.users < 2) {
+            throw new IllegalArgumentException("São necessários pelo menos 2 usuários.");
+        }
+        if (config.clients < 1 || config.durationSeconds < 1) {
+            throw new IllegalArgumentException("clients e durationSeconds devem ser positivos.");
+        }
+        return config;
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("users", users);
+        map.put("followsPerUser", followsPerUser);
+        map.put("postsPerUser", postsPerUser);
+        map.put("likesPerUser", likesPerUser);
+        map.put("popularityExponent", popularityExponent);
+        map.put("seed", seed);
+        map.put("clients", clients);
+        map.put("warmupSeconds", warmupSeconds);
+        map.put("durationSeconds", durationSeconds);
+        map.put("rate", rate);
+        map.put("mix", mix);
+        map.put("datasourceUrl", datasourceUrl);
+        map.put("profiles", profiles);
+        map.put("fanout", fanout);
+        return map;
+    }
+}
@@ -0,0 +1,185 @@
+package com.redesocial.rede_social_api.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+// Gera usuários, follows, posts e curtidas direto no banco, com JDBC em lote. Quem é seguido e o que é curtido segue
+// uma lei de Zipf (poucas contas e posts concentram a maior parte); quantos follows, posts e curtidas cada usuário
+// faz segue uma Pareto com a média configurada.
+final class PowerLawGraph {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final double PARETO_ALPHA = 2.5;
+    private static final Duration HISTORY = Duration.ofDays(30);
+
+    private static final String INSERT_USER = "insert into users (id, username, password, email, first_name, last_name) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_FOLLOW = "insert into follows (id, follower_id, followed_id, created_at) values (?, ?, ?, ?)";
+    private static final String INSERT_POST = "insert into posts (id, content, created_at, user_id) values (?, ?, ?, ?)";
+    private static final String INSERT_LIKE = "insert into likes (id, user_id, post_id, created_at) values (?, ?, ?, ?)";
+    private static final String RECONCILE_LIKE_COUNTS = "update posts p set like_count = (select count(*) from likes l where l.post_id = p.id)";
+
+    private PowerLawGraph() {
+    }
+
+    record Dataset(int users, long follows, long posts, long likes, long generationMillis) {
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("users", users);
+            map.put("follows", follows);
+            map.put("posts", posts);
+            map.put("likes", likes);
+            map.put("generationMillis", generationMillis);
+            return map;
+        }
+    }
+
+    static Dataset generate(JdbcTemplate jdbcTemplate, LoadTestConfig config) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(config.seed);
+        int users = config.users;
+        LocalDateTime historyStart = LocalDateTime.now().minus(HISTORY);
+
+        Batch batch = new Batch(jdbcTemplate, INSERT_USER);
+        for (long id = 1; id <= users; id++) {
+            batch.add(id, "user" + id, "password", "user" + id + "@example.com", "Nome", "Sobrenome");
+        }
+        batch.flush();
+
+        // Posição k no ranking de popularidade = usuário k + 1.
+        ZipfSampler popularUsers = new ZipfSampler(users, config.popularityExponent);
+        batch = new Batch(jdbcTemplate, INSERT_FOLLOW);
+        long follows = 0;
+        Timestamp followedAt = Timestamp.valueOf(historyStart);
+        for (long follower = 1; follower <= users; follower++) {
+            int degree = paretoDegree(random, config.followsPerUser, users - 1);
+            Set<Long> followed = new HashSet<>();
+            // Contas muito populares saem repetidas; o limite de tentativas evita laço longo com grau próximo de users.
+            for (int attempts = 0; followed.size() < degree && attempts < 4 * degree + 10; attempts++) {
+                long candidate = popularUsers.sample(random) + 1;
+                if (candidate != follower && followed.add(candidate)) {
+                    batch.add(++follows, follower, candidate, followedAt);
+                }
+            }
+        }
+        batch.flush();
+
+        List<Long> authors = new ArrayList<>();
+        for (long author = 1; author <= users; author++) {
+            int count = paretoDegree(random, config.postsPerUser, Integer.MAX_VALUE);
+            for (int i = 0; i < count; i++) {
+                authors.add(author);
+            }
+        }
+        Collections.shuffle(authors, random);
+        long posts = authors.size();
+        // IDs crescentes no tempo, como os Snowflake da aplicação.
+        long stepMillis = Math.max(1, HISTORY.toMillis() / Math.max(1, posts));
+        batch = new Batch(jdbcTemplate, INSERT_POST);
+        for (int i = 0; i < posts; i++) {
+            long postId = i + 1;
+            batch.add(postId, "Post sintético número " + postId + " sobre o tema " + (postId % 97),
+                    Timestamp.valueOf(historyStart.plusNanos(stepMillis * postId * 1_000_000)), authors.get(i));
+        }
+        batch.flush();
+
+        long likes = 0;
+        if (posts > 0) {
+            // Posição k = post posts - k: os mais recentes são os mais curtidos.
+            ZipfSampler popularPosts = new ZipfSampler((int) Math.min(posts, Integer.MAX_VALUE), config.popularityExponent);
+            batch = new Batch(jdbcTemplate, INSERT_LIKE);
+            Timestamp likedAt = Timestamp.valueOf(LocalDateTime.now().minusHours(1));
+            for (long user = 1; user <= users; user++) {
+                int degree = paretoDegree(random, config.likesPerUser, (int) Math.min(posts, Integer.MAX_VALUE));
+                Set<Long> liked = new HashSet<>();
+                for (int attempts = 0; liked.size() < degree && attempts < 4 * degree + 10; attempts++) {
+                    long postId = posts - popularPosts.sample(random);
+                    if (liked.add(postId)) {
+                        batch.add(++likes, user, postId, likedAt);
+                    }
+                }
+            }
+            batch.flush();
+            jdbcTemplate.update(RECONCILE_LIKE_COUNTS);
+        }
+
+        return new Dataset(users, follows, posts, likes, System.currentTimeMillis() - start);
+    }
+
+    // Pareto discreta com a média pedida (antes do corte em max).
+    static int paretoDegree(Random random, double mean, int max) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double minimum = mean * (PARETO_ALPHA - 2) / (PARETO_ALPHA - 1);
+        double value = minimum / Math.pow(1 - random.nextDouble(), 1 / (PARETO_ALPHA - 1));
+        return (int) Math.min(max, Math.round(value));
+    }
+
+    // Amostra posições 0..n-1 com probabilidade proporcional a 1 / (posição + 1)^expoente.
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+        }
+
+        int sample(Random random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class Batch {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final String sql;
+        private List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        private Batch(JdbcTemplate jdbcTemplate, String sql) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.sql = sql;
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+    }
+}
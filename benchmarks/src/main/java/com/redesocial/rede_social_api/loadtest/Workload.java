@@ -0,0 +1,207 @@
+package com.redesocial.rede_social_api.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Clientes concorrentes contra os endpoints HTTP reais. Sem rate, cada cliente dispara a próxima requisição assim que
+// recebe a resposta (laço fechado). Com rate, cada requisição tem horário marcado e a latência conta a partir dele:
+// um servidor lento não consegue esconder a fila que ele mesmo causou (coordinated omission).
+final class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String JSON = "application/json";
+
+    enum Operation {
+        TIMELINE("timeline", "GET /api/timeline/{userId}"),
+        POST("post", "GET /api/posts/{id}"),
+        USER_POSTS("userPosts", "GET /api/posts/user/{userId}"),
+        FOLLOWERS("followers", "GET /api/follows/followers/{userId}"),
+        CREATE_POST("createPost", "POST /api/posts"),
+        LIKE("like", "POST /api/likes"),
+        FOLLOW("follow", "POST /api/follows");
+
+        final String name;
+        final String endpoint;
+
+        Operation(String name, String endpoint) {
+            this.name = name;
+            this.endpoint = endpoint;
+        }
+
+        static Operation byName(String name) {
+            for (Operation operation : values()) {
+                if (operation.name.equals(name)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Operação desconhecida: " + name);
+        }
+    }
+
+    private final LoadTestConfig config;
+    private final PowerLawGraph.Dataset dataset;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(LoadTestConfig config, PowerLawGraph.Dataset dataset, String baseUrl) {
+        this.config = config;
+        this.dataset = dataset;
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        List<Operation> mixOperations = new ArrayList<>();
+        List<Integer> mixWeights = new ArrayList<>();
+        int total = 0;
+        for (String entry : config.mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix inválido (esperado operação=peso): " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                total += weight;
+                mixOperations.add(Operation.byName(parts[0].trim()));
+                mixWeights.add(total);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("O mix precisa de pelo menos uma operação com peso positivo.");
+        }
+        operations = mixOperations.toArray(new Operation[0]);
+        cumulativeWeights = mixWeights.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    LatencyReport run(int seconds) throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        ExecutorService executor = Executors.newFixedThreadPool(config.clients);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        // Com rate, cada cliente tem um horário de largada diferente para não dispararem todos juntos.
+        long intervalNanos = config.rate > 0 ? (long) (config.clients * 1e9 / config.rate) : 0;
+        List<Future<?>> clients = new ArrayList<>();
+        for (int i = 0; i < config.clients; i++) {
+            long firstRequest = start + (intervalNanos * i) / config.clients;
+            clients.add(executor.submit(() -> runClient(report, firstRequest, intervalNanos, deadline)));
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + REQUEST_TIMEOUT.toSeconds() + 10, TimeUnit.SECONDS);
+        for (Future<?> client : clients) {
+            client.cancel(true);
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private void runClient(LatencyReport report, long firstRequest, long intervalNanos, long deadline) {
+        long intended = firstRequest;
+        while (!Thread.currentThread().isInterrupted()) {
+            long now = System.nanoTime();
+            if (intervalNanos > 0) {
+                if (intended >= deadline) {
+                    return;
+                }
+                if (intended > now) {
+                    sleepNanos(intended - now);
+                }
+            } else {
+                if (now >= deadline) {
+                    return;
+                }
+                intended = now;
+            }
+
+            Operation operation = pickOperation();
+            int status;
+            try {
+                status = httpClient.send(buildRequest(operation), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            report.record(operation, System.nanoTime() - intended, status);
+            intended += intervalNanos;
+        }
+    }
+
+    private Operation pickOperation() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest buildRequest(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = randomUserId(random);
+        return switch (operation) {
+            case TIMELINE -> get("/api/timeline/" + userId + "?limit=20");
+            case POST -> get("/api/posts/" + randomPostId(random));
+            case USER_POSTS -> get("/api/posts/user/" + userId);
+            case FOLLOWERS -> get("/api/follows/followers/" + userId);
+            case CREATE_POST -> post("/api/posts?userId=" + userId,
+                    "{\"content\":\"Post de carga " + random.nextLong() + "\"}");
+            case LIKE -> post("/api/likes", "{\"userId\":" + userId + ",\"postId\":" + randomPostId(random) + "}");
+            case FOLLOW -> {
+                long followedId = randomUserId(random);
+                if (followedId == userId) {
+                    followedId = userId % dataset.users() + 1;
+                }
+                yield post("/api/follows", "{\"followerId\":" + userId + ",\"followedId\":" + followedId + "}");
+            }
+        };
+    }
+
+    private long randomUserId(ThreadLocalRandom random) {
+        return random.nextLong(1, dataset.users() + 1);
+    }
+
+    private long randomPostId(ThreadLocalRandom random) {
+        return random.nextLong(1, Math.max(1, dataset.posts()) + 1);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", JSON)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", JSON)
+                .header("Accept", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
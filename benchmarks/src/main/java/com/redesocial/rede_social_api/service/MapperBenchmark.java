@@ -0,0 +1,53 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.PostResponseDTO;
+import com.redesocial.rede_social_api.dto.UserResponseDTO;
+import com.redesocial.rede_social_api.model.Post;
+import com.redesocial.rede_social_api.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private PostService postService;
+    private TimelineService timelineService;
+    private UserService userService;
+    private User user;
+    private Post post;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postService = new PostService(null, null, null, null, null, null, null);
+        timelineService = new TimelineService(null, null, null, new TimelineInboxStore(1, 1, 30), null, true, 0);
+        userService = new UserService(null, null, null, null, null, null);
+        user = new User(1L, "benchmark_user", "password", "benchmark@example.com", "Nome", "Sobrenome");
+        post = new Post(1L, "Conteúdo de exemplo para o benchmark dos mapeadores.", LocalDateTime.now(), user);
+    }
+
+    @Benchmark
+    public PostResponseDTO mapPostToPostResponseDTO() {
+        return postService.mapPostToPostResponseDTO(post);
+    }
+
+    @Benchmark
+    public PostResponseDTO convertToPostResponseDTO() {
+        return timelineService.convertToPostResponseDTO(post);
+    }
+
+    @Benchmark
+    public UserResponseDTO mapUserToUserResponseDTO() {
+        return userService.mapUserToUserResponseDTO(user);
+    }
+}
@@ -0,0 +1,101 @@
+package com.redesocial.rede_social_api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redesocial.rede_social_api.config.BinaryFormatsConfig;
+import com.redesocial.rede_social_api.dto.PostResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Serialização (servidor) e leitura (cliente) de uma página de timeline em JSON, Smile e CBOR, com os mesmos
+// ObjectMappers da aplicação. O tamanho de cada payload, com e sem gzip, é impresso no início de cada fork.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<PostResponseDTO>> POST_LIST = new TypeReference<>() {
+    };
+    private static final String[] WORDS = ("hoje amanhã café praia trabalho projeto java código show música filme livro "
+            + "viagem cidade futebol jogo treino receita jantar amigos família foto dia noite chuva sol feliz novo").split(" ");
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"20", "100"})
+    public int posts;
+
+    // Quantos autores distintos aparecem na página: poucos autores = muitos usernames repetidos.
+    @Param({"5"})
+    public int authors;
+
+    private ObjectMapper mapper;
+    private List<PostResponseDTO> page;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Mesmas opções do ObjectMapper do Spring Boot (datas ISO, módulos JSR-310), trocando apenas a fábrica.
+        mapper = Jackson2ObjectMapperBuilder.json().factory(factory()).build();
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        page = new ArrayList<>(posts);
+        for (int i = 0; i < posts; i++) {
+            long authorId = 1 + random.nextInt(authors);
+            // Texto variado, para o gzip não se beneficiar de posts idênticos.
+            StringBuilder content = new StringBuilder();
+            for (int w = 0, count = 8 + random.nextInt(20); w < count; w++) {
+                content.append(w == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            page.add(new PostResponseDTO(370_000_000_000_000_000L + random.nextInt(1 << 30), content.toString(),
+                    authorId, "usuario_" + authorId, now.minusSeconds(random.nextInt(86_400))));
+        }
+        payload = mapper.writeValueAsBytes(page);
+        System.out.printf("%n%s, %d posts: %d bytes, %d bytes com gzip%n", format, posts, payload.length, gzip(payload).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<PostResponseDTO> deserialize() throws IOException {
+        return mapper.readValue(payload, POST_LIST);
+    }
+
+    private JsonFactory factory() {
+        return switch (format) {
+            case "json" -> new JsonFactory();
+            case "smile" -> BinaryFormatsConfig.smileFactory();
+            case "cbor" -> BinaryFormatsConfig.cborFactory();
+            default -> throw new IllegalArgumentException("Formato desconhecido: " + format);
+        };
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
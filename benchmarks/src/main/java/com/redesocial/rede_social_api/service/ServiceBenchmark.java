@@ -0,0 +1,26 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.PostResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+    @Benchmark
+    public List<PostResponseDTO> getUserTimeline(SocialGraphState state) {
+        return state.timelineService.getUserTimeline(state.randomUserId());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<PostResponseDTO> getAllPosts(SocialGraphState state) {
+        return state.postService.getAllPosts();
+    }
+}
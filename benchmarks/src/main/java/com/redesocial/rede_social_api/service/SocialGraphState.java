@@ -0,0 +1,127 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.RedeSocialApiApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Sobe o contexto da aplicação sobre um H2 em memória e gera um grafo social sintético.
+@State(Scope.Benchmark)
+public class SocialGraphState {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param("1000")
+    public int users;
+
+    @Param("50")
+    public int followsPerUser;
+
+    @Param("20")
+    public int postsPerUser;
+
+    @Param({"true", "false"})
+    public boolean fanoutEnabled;
+
+    ConfigurableApplicationContext context;
+    TimelineService timelineService;
+    PostService postService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RedeSocialApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.redesocial.rede_social_api=WARN",
+                        "--redesocial.timeline.fanout-enabled=" + fanoutEnabled);
+        timelineService = context.getBean(TimelineService.class);
+        postService = context.getBean(PostService.class);
+        generate(context.getBean(JdbcTemplate.class));
+        // Os dados são inseridos depois da subida: recarrega os índices em memória de forma síncrona (sem o proxy @Async).
+        target(context.getBean(FollowGraphIndex.class)).rebuild();
+        target(context.getBean(UserIdentityFilter.class)).load();
+        target(timelineService).loadPullAccounts();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T target(T bean) {
+        Object target = AopProxyUtils.getSingletonTarget(bean);
+        return target != null ? (T) target : bean;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, users + 1);
+    }
+
+    private void generate(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= users; id++) {
+            rows.add(new Object[]{id, "user" + id, "password", "user" + id + "@example.com", "Nome", "Sobrenome"});
+            rows = flush(jdbcTemplate, "insert into users (id, username, password, email, first_name, last_name) values (?, ?, ?, ?, ?, ?)", rows, false);
+        }
+        flush(jdbcTemplate, "insert into users (id, username, password, email, first_name, last_name) values (?, ?, ?, ?, ?, ?)", rows, true);
+
+        long followId = 1;
+        int followsEach = Math.min(followsPerUser, users - 1);
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (long follower = 1; follower <= users; follower++) {
+            Set<Long> followed = new HashSet<>();
+            while (followed.size() < followsEach) {
+                long candidate = 1 + random.nextInt(users);
+                if (candidate != follower && followed.add(candidate)) {
+                    rows.add(new Object[]{followId++, follower, candidate, Timestamp.valueOf(start)});
+                    rows = flush(jdbcTemplate, "insert into follows (id, follower_id, followed_id, created_at) values (?, ?, ?, ?)", rows, false);
+                }
+            }
+        }
+        flush(jdbcTemplate, "insert into follows (id, follower_id, followed_id, created_at) values (?, ?, ?, ?)", rows, true);
+
+        long totalPosts = (long) users * postsPerUser;
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (long postId = 1; postId <= totalPosts; postId++) {
+            long author = 1 + random.nextInt(users);
+            rows.add(new Object[]{postId, "Post sintético número " + postId, Timestamp.valueOf(start.plusSeconds(postId)), author});
+            rows = flush(jdbcTemplate, "insert into posts (id, content, created_at, user_id) values (?, ?, ?, ?)", rows, false);
+        }
+        flush(jdbcTemplate, "insert into posts (id, content, created_at, user_id) values (?, ?, ?, ?)", rows, true);
+    }
+
+    private static List<Object[]> flush(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows, boolean force) {
+        if (rows.isEmpty() || (!force && rows.size() < BATCH_SIZE)) {
+            return rows;
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        return new ArrayList<>(BATCH_SIZE);
+    }
+}
@@ -0,0 +1,10 @@
+package com.redesocial.rede_social_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// Usa o executor padrão do Spring Boot, que passa a criar virtual threads com spring.threads.virtual.enabled=true.
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,41 @@
+package com.redesocial.rede_social_api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+// Respostas em CBOR (application/cbor) e Smile (application/x-jackson-smile) quando o cliente as pede no Accept; sem
+// Accept ou com */* a resposta continua em JSON. Os conversores substituem os padrões do Spring MVC na mesma posição,
+// depois do JSON, mas usam o ObjectMapper configurado pelo Spring Boot (módulos e spring.jackson.*), então os campos e
+// datas saem iguais aos do JSON.
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(cborFactory()).build());
+    }
+
+    // Valores repetidos curtos (username de cada post de uma timeline) viram referências ao primeiro, como já acontece
+    // por padrão com os nomes dos campos.
+    public static SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+
+    // Sem a extensão stringref: nem todo decodificador CBOR dos clientes a implementa.
+    public static CBORFactory cborFactory() {
+        return CBORFactory.builder().build();
+    }
+}
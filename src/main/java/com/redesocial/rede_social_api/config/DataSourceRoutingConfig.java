@@ -0,0 +1,100 @@
+package com.redesocial.rede_social_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Ativa o roteamento para réplicas quando redesocial.datasource.replica-urls está preenchido; sem réplicas, o
+// DataSource continua sendo o da autoconfiguração do Spring Boot.
+@Configuration
+@ConditionalOnExpression("!'${redesocial.datasource.replica-urls:}'.isBlank()")
+public class DataSourceRoutingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+            @Value("${redesocial.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${redesocial.datasource.replica-username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${redesocial.datasource.replica-password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${redesocial.datasource.replica-lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${redesocial.datasource.max-replica-lag-seconds:2}") long maxLagSeconds,
+            @Value("${redesocial.datasource.read-your-writes-ms:5000}") long readYourWritesMillis) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configurePool(primary, environment, meterRegistry, "primary");
+
+        List<DataSource> replicas = new ArrayList<>(replicaUrls.size());
+        for (String url : replicaUrls) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build();
+            configurePool(replica, environment, meterRegistry, "replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, lagQuery, maxLagSeconds, readYourWritesMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                     @Value("${redesocial.datasource.read-your-writes-ms:5000}") long readYourWritesMillis) {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(readYourWritesMillis);
+        replicaRoutingDataSource.setWriteListener(filter::rememberWrite);
+        return filter;
+    }
+
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return registry -> {
+            for (int i = 0; i < replicaRoutingDataSource.getReplicaCount(); i++) {
+                int replica = i;
+                Gauge.builder("redesocial.datasource.replica.lag", replicaRoutingDataSource, ds -> ds.getReplicaLagSeconds(replica))
+                        .description("Atraso da réplica em segundos (-1 quando desconhecido)")
+                        .baseUnit("seconds")
+                        .tag("replica", "replica-" + replica)
+                        .register(registry);
+            }
+            FunctionCounter.builder("redesocial.datasource.reads", replicaRoutingDataSource, ReplicaRoutingDataSource::getReplicaReads)
+                    .description("Conexões somente leitura por destino")
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("redesocial.datasource.reads", replicaRoutingDataSource, ReplicaRoutingDataSource::getPrimaryFallbacks)
+                    .description("Conexões somente leitura por destino")
+                    .tag("target", "primary-fallback")
+                    .register(registry);
+        };
+    }
+
+    // Mesmas configurações spring.datasource.hikari.* para todos os pools; o Actuator não os vê como beans, então
+    // as métricas hikaricp.* são ligadas aqui.
+    private static void configurePool(HikariDataSource pool, Environment environment, MeterRegistry meterRegistry, String name) {
+        Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricRegistry(meterRegistry);
+    }
+}
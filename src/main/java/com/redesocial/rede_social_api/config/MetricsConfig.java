@@ -0,0 +1,47 @@
+package com.redesocial.rede_social_api.config;
+
+import com.redesocial.rede_social_api.service.CommentService;
+import com.redesocial.rede_social_api.service.LikeCounterService;
+import com.redesocial.rede_social_api.service.SuggestionService;
+import com.redesocial.rede_social_api.service.TimelineService;
+import com.redesocial.rede_social_api.util.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Timers de endpoints (http.server.requests), de repositórios (spring.data.repository.invocations) e o pool do Hikari
+// (hikaricp.connections.*) vêm da autoconfiguração do Actuator; aqui ficam só as métricas dos caches em memória.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(SuggestionService suggestionService, CommentService commentService,
+                                    TimelineService timelineService, LikeCounterService likeCounterService) {
+        return registry -> {
+            bindCache(registry, "suggestions", suggestionService.getCacheStats());
+            bindCache(registry, "comment-counts", commentService.getCountCacheStats());
+            bindCache(registry, "timeline-inbox", timelineService.getInboxCacheStats());
+            bindCache(registry, "like-counters", likeCounterService.getCacheStats());
+        };
+    }
+
+    static void bindCache(MeterRegistry registry, String cache, CacheStats stats) {
+        FunctionCounter.builder("redesocial.cache.gets", stats, CacheStats::hits)
+                .description("Leituras do cache por resultado (hit ou miss)")
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("redesocial.cache.gets", stats, CacheStats::misses)
+                .description("Leituras do cache por resultado (hit ou miss)")
+                .tag("cache", cache)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("redesocial.cache.hit.ratio", stats, CacheStats::hitRatio)
+                .description("Proporção de acertos desde a subida da aplicação")
+                .tag("cache", cache)
+                .register(registry);
+    }
+}
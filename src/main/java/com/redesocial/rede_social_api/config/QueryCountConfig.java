@@ -0,0 +1,24 @@
+package com.redesocial.rede_social_api.config;
+
+import com.redesocial.rede_social_api.util.QueryCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Contagem de SQL por requisição para achar N+1; ligada só com redesocial.query-count.enabled=true.
+@Configuration
+@ConditionalOnProperty(name = "redesocial.query-count.enabled", havingValue = "true")
+public class QueryCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingStatementInspector() {
+        StatementInspector inspector = sql -> {
+            QueryCounter.record();
+            return sql;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
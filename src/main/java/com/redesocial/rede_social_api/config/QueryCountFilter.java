@@ -0,0 +1,123 @@
+package com.redesocial.rede_social_api.config;
+
+import com.redesocial.rede_social_api.util.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Expõe quantas instruções SQL cada requisição executou (header e métrica) e avisa quando passa do orçamento.
+@Component
+@ConditionalOnProperty(name = "redesocial.query-count.enabled", havingValue = "true")
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String METRIC_NAME = "redesocial.http.queries";
+
+    private final MeterRegistry meterRegistry;
+    private final long warnThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${redesocial.query-count.warn-threshold:10}") long warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            CountingResponse countingResponse = new CountingResponse(response, scope);
+            try {
+                chain.doFilter(request, countingResponse);
+            } finally {
+                countingResponse.writeHeader();
+                record(request, scope.count());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, long count) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(METRIC_NAME)
+                .description("Instruções SQL executadas por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count);
+        if (count > warnThreshold) {
+            logger.warn("{} {} executou {} instruções SQL (limite: {}). Possível N+1.", request.getMethod(), uri, count, warnThreshold);
+        }
+    }
+
+    // O header precisa entrar antes do primeiro byte do corpo; o que for executado depois disso só entra na métrica.
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private final QueryCounter.Scope scope;
+
+        private CountingResponse(HttpServletResponse response, QueryCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        private void writeHeader() {
+            if (!isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, String.valueOf(scope.count()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
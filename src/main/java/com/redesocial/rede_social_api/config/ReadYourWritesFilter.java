@@ -0,0 +1,77 @@
+package com.redesocial.rede_social_api.config;
+
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Depois de uma escrita, o cliente recebe um cookie com o instante até o qual suas leituras vão para o primário;
+// assim ele enxerga o que acabou de gravar mesmo que a réplica ainda não tenha recebido.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String PRIMARY_UNTIL_COOKIE = "rs_primary_until";
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long until = readCookie(request);
+        long now = System.currentTimeMillis();
+        // Valores além da janela não foram emitidos por nós; ignorá-los impede um cliente de fixar tudo no primário.
+        if (until > now && until <= now + windowMillis) {
+            DataSourceRouting.pinToPrimaryUntil(until);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DataSourceRouting.reset();
+        }
+    }
+
+    // Chamado após o commit de uma escrita; a resposta ainda não foi enviada porque o controller serializa depois.
+    public void rememberWrite(long until) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        HttpServletResponse response = servletAttributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(PRIMARY_UNTIL_COOKIE, Long.toString(until));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+        response.addCookie(cookie);
+    }
+
+    private static long readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (PRIMARY_UNTIL_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,212 @@
+package com.redesocial.rede_social_api.config;
+
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Envia conexões de transações readOnly para uma réplica com atraso aceitável e todo o resto para o primário.
+// Precisa ficar atrás de um LazyConnectionDataSourceProxy: a conexão só é pedida no primeiro comando, quando a
+// transação já marcou se é somente leitura.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Coluna de SHOW REPLICA STATUS (MySQL 8.0.22+); consultas sem ela devem trazer o atraso na primeira coluna.
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+    static final long UNKNOWN_LAG = -1;
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final long readYourWritesMillis;
+    // Atraso por réplica em segundos; UNKNOWN_LAG até a primeira verificação ou quando a réplica não responde.
+    private final AtomicLongArray lagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryFallbacks = new LongAdder();
+    private volatile LongConsumer writeListener = until -> { };
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery, long maxLagSeconds,
+                                    long readYourWritesMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.readYourWritesMillis = readYourWritesMillis;
+        this.lagSeconds = new AtomicLongArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            lagSeconds.set(i, UNKNOWN_LAG);
+        }
+        logger.info("ReplicaRoutingDataSource inicializado ({} réplicas, atraso máximo: {}s, leitura das próprias escritas: {} ms).",
+                replicas.size(), maxLagSeconds, readYourWritesMillis);
+    }
+
+    // Chamado após o commit de cada transação de escrita com o instante até o qual a thread lê do primário.
+    public void setWriteListener(LongConsumer writeListener) {
+        this.writeListener = writeListener;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(username, password);
+    }
+
+    private Connection route(String username, String password) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registerWrite();
+            return connect(primary, username, password);
+        }
+        if (DataSourceRouting.isPrimaryRequired()) {
+            return connect(primary, username, password);
+        }
+        int replica = pickReplica();
+        if (replica < 0) {
+            primaryFallbacks.increment();
+            return connect(primary, username, password);
+        }
+        try {
+            Connection connection = connect(replicas.get(replica), username, password);
+            replicaReads.increment();
+            return connection;
+        } catch (SQLException e) {
+            lagSeconds.set(replica, UNKNOWN_LAG);
+            logger.warn("Réplica {} indisponível; leituras voltam ao primário até a próxima verificação: {}", replica, e.getMessage());
+            primaryFallbacks.increment();
+            return connect(primary, username, password);
+        }
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    // Rodízio entre as réplicas com atraso conhecido e dentro do limite; -1 quando nenhuma serve.
+    private int pickReplica() {
+        int count = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            int candidate = (start + i) % count;
+            long lag = lagSeconds.get(candidate);
+            if (lag != UNKNOWN_LAG && lag <= maxLagSeconds) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private void registerWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long until = System.currentTimeMillis() + readYourWritesMillis;
+                DataSourceRouting.pinToPrimaryUntil(until);
+                writeListener.accept(until);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${redesocial.datasource.replica-lag-check-ms:1000}")
+    public void checkReplicaLag() {
+        for (int i = 0; i < replicas.size(); i++) {
+            long lag;
+            try {
+                lag = readLagSeconds(replicas.get(i));
+            } catch (SQLException e) {
+                logger.warn("Falha ao medir o atraso da réplica {}: {}", i, e.getMessage());
+                lag = UNKNOWN_LAG;
+            }
+            long previous = lagSeconds.getAndSet(i, lag);
+            boolean healthy = lag != UNKNOWN_LAG && lag <= maxLagSeconds;
+            boolean wasHealthy = previous != UNKNOWN_LAG && previous <= maxLagSeconds;
+            if (healthy != wasHealthy) {
+                if (healthy) {
+                    logger.info("Réplica {} voltou a receber leituras (atraso: {}s).", i, lag);
+                } else {
+                    logger.warn("Réplica {} fora do rodízio de leituras (atraso: {}).", i, lag == UNKNOWN_LAG ? "desconhecido" : lag + "s");
+                }
+            }
+        }
+    }
+
+    private long readLagSeconds(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                // Sem linha: o servidor não está replicando.
+                return UNKNOWN_LAG;
+            }
+            long lag = resultSet.getLong(lagColumn(resultSet.getMetaData()));
+            return resultSet.wasNull() ? UNKNOWN_LAG : lag;
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            if (LAG_COLUMN.equalsIgnoreCase(metaData.getColumnLabel(column))) {
+                return column;
+            }
+        }
+        return 1;
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public long getReplicaLagSeconds(int replica) {
+        return lagSeconds.get(replica);
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getPrimaryFallbacks() {
+        return primaryFallbacks.sum();
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(primary);
+        replicas.forEach(ReplicaRoutingDataSource::closeQuietly);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Falha ao fechar pool de conexões: {}", e.getMessage());
+            }
+        }
+    }
+}
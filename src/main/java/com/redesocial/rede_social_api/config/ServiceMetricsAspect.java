@@ -0,0 +1,61 @@
+package com.redesocial.rede_social_api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Mede cada método público das classes @Service. Fica por fora do proxy de transação, então o commit entra no tempo.
+// As estruturas em memória (@Component, como TimelineInboxStore e FollowGraphIndex) ficam de fora: são chamadas uma
+// vez por seguidor ou por relação nos caminhos de fan-out e importação.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "redesocial.service.invocations";
+
+    private final MeterRegistry meterRegistry;
+    // Um Timer por método e exceção, registrado na primeira chamada; as seguintes não montam tags nem consultam o registry.
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            sample.stop(timers.computeIfAbsent(new TimerKey(method, exception), this::register));
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder(METRIC_NAME)
+                .description("Tempo de execução dos métodos de serviço")
+                .tag("service", key.method().getDeclaringClass().getSimpleName())
+                .tag("method", key.method().getName())
+                .tag("exception", key.exception())
+                .register(meterRegistry);
+    }
+
+    private record TimerKey(Method method, String exception) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.redesocial.rede_social_api.controller;
+
+import com.redesocial.rede_social_api.dto.CommentCreateDTO;
+import com.redesocial.rede_social_api.dto.CommentResponseDTO;
+import com.redesocial.rede_social_api.dto.KeysetCursor;
+import com.redesocial.rede_social_api.service.CommentService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@RestController
+@RequestMapping("/api/comments")
+@Tag(name = "Comentários", description = "Gerenciamento de comentários em posts")
+public class CommentController {
+
+    private final CommentService commentService;
+
+    @Autowired
+    public CommentController(CommentService commentService) {
+        this.commentService = commentService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Comentar em um post",
+            description = "Cria um novo comentário de um usuário em um post.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Comentário criado com sucesso",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = CommentResponseDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Requisição inválida (ex: comentário vazio)", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"O comentário não pode ser vazio.\"}"))),
+                    @ApiResponse(responseCode = "404", description = "Usuário ou post não encontrado", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Post não encontrado com ID: X\"}")))
+            })
+    public ResponseEntity<CommentResponseDTO> createComment(
+            @Parameter(description = "DTO contendo o ID do post e o conteúdo do comentário")
+            @Valid @RequestBody CommentCreateDTO commentCreateDTO,
+            @Parameter(description = "ID do usuário autor do comentário")
+            @RequestParam Long userId) {
+        CommentResponseDTO createdComment = commentService.createComment(commentCreateDTO, userId);
+        return new ResponseEntity<>(createdComment, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/post/{postId}")
+    @Operation(summary = "Obter comentários de um post",
+            description = "Retorna uma página de comentários de um post, do mais antigo para o mais recente.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Comentários retornados com sucesso",
+                            headers = @Header(name = TimelineController.NEXT_CURSOR_HEADER, description = "Cursor para buscar a próxima página (ausente na última página)"),
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = CommentResponseDTO[].class))),
+                    @ApiResponse(responseCode = "404", description = "Post não encontrado", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Post não encontrado com ID: X\"}")))
+            })
+    public ResponseEntity<List<CommentResponseDTO>> getCommentsForPost(
+            @Parameter(description = "ID do post")
+            @PathVariable Long postId,
+            @Parameter(description = "Cursor retornado na página anterior (<createdAt>,<id>)", example = "2024-05-28T10:30:00,101")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de comentários na página (1 a 100)")
+            @RequestParam(defaultValue = "20") int limit) {
+        List<CommentResponseDTO> comments = commentService.getCommentsForPost(postId, KeysetCursor.parse(after), limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (comments.size() == limit) {
+            response.header(TimelineController.NEXT_CURSOR_HEADER, KeysetCursor.of(comments.get(comments.size() - 1)).toString());
+        }
+        return response.body(comments);
+    }
+
+    @GetMapping("/post/{postId}/count")
+    @Operation(summary = "Contar comentários de um post",
+            description = "Retorna o número de comentários de um post.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Contagem retornada com sucesso",
+                            content = @Content(mediaType = "application/json", schema = @Schema(type = "integer", format = "int64", example = "42"))),
+                    @ApiResponse(responseCode = "404", description = "Post não encontrado", content = @Content)
+            })
+    public ResponseEntity<Long> countCommentsForPost(
+            @Parameter(description = "ID do post")
+            @PathVariable Long postId) {
+        long count = commentService.countCommentsForPost(postId);
+        return ResponseEntity.ok(count);
+    }
+
+    @DeleteMapping("/{commentId}")
+    @Operation(summary = "Deletar um comentário",
+            description = "Remove um comentário. Apenas o autor pode deletá-lo.",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Comentário deletado com sucesso", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Usuário não tem permissão para deletar o comentário", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Comentário não encontrado", content = @Content)
+            })
+    public ResponseEntity<Void> deleteComment(
+            @Parameter(description = "ID do comentário")
+            @PathVariable Long commentId,
+            @Parameter(description = "ID do usuário que está deletando o comentário")
+            @RequestParam Long userId) {
+        commentService.deleteComment(commentId, userId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
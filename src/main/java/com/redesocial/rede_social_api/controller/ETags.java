@@ -0,0 +1,29 @@
+package com.redesocial.rede_social_api.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+// GET condicional a partir das tags de ContentVersions: a comparação com If-None-Match acontece antes de chamar o
+// serviço, então uma resposta 304 não consulta o banco nem serializa nada.
+final class ETags {
+
+    private ETags() {
+    }
+
+    // ETag fraco da resposta, ou null se a versão não estiver disponível. Fraco porque o mesmo conteúdo sai com bytes
+    // diferentes com e sem gzip (e o Tomcat não comprime respostas com ETag forte); o If-None-Match já usa comparação
+    // fraca. Inclui o Accept da requisição porque JSON, Smile e CBOR do mesmo conteúdo são representações diferentes.
+    static String of(String versionTag, WebRequest request) {
+        if (versionTag == null) {
+            return null;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return "W/\"" + versionTag + "." + Integer.toHexString(accept == null ? 0 : accept.hashCode()) + "\"";
+    }
+
+    // true se o cliente já tem essa versão; nesse caso o status 304 e o ETag já foram gravados na resposta e o
+    // controller deve retornar null.
+    static boolean notModified(String etag, WebRequest request) {
+        return etag != null && request.checkNotModified(etag);
+    }
+}
@@ -1,13 +1,20 @@
 package com.redesocial.rede_social_api.controller;
 
 import com.redesocial.rede_social_api.dto.FollowDTO;
+import com.redesocial.rede_social_api.dto.FollowImportResultDTO;
 import com.redesocial.rede_social_api.dto.UserResponseDTO;
+import com.redesocial.rede_social_api.service.ContentVersions;
+import com.redesocial.rede_social_api.service.FollowImportService;
 import com.redesocial.rede_social_api.service.FollowService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.io.InputStream;
 import java.util.List;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,11 +29,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @Tag(name = "Seguidores", description = "Gerenciamento de relações de seguir/parar de seguir entre usuários")
 public class FollowController {
 
+    static final String CSV_MEDIA_TYPE = "text/csv";
+
     private final FollowService followService;
+    private final FollowImportService followImportService;
+    private final ContentVersions contentVersions;
 
     @Autowired
-    public FollowController(FollowService followService) {
+    public FollowController(FollowService followService, FollowImportService followImportService, ContentVersions contentVersions) {
         this.followService = followService;
+        this.followImportService = followImportService;
+        this.contentVersions = contentVersions;
     }
 
     @PostMapping
@@ -44,6 +57,26 @@ public class FollowController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @PostMapping(value = "/import", consumes = {CSV_MEDIA_TYPE, PostController.NDJSON_MEDIA_TYPE})
+    @Operation(summary = "Importar relações de seguir em massa",
+            description = "Recebe pares (seguidor, seguido) em CSV (uma linha 'seguidorId,seguidoId', cabeçalho opcional) ou NDJSON (um objeto {\"followerId\": 1, \"followedId\": 2} por linha) e os grava em lotes, cada lote em sua própria transação. Pares repetidos ou já existentes são ignorados; pares com usuário inexistente ou de um usuário para si mesmo são rejeitados e contados no resultado. Em caso de linha inválida, os lotes anteriores permanecem gravados e o mesmo arquivo pode ser reenviado.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Importação concluída",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = FollowImportResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Linha com formato inválido", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Linha 12 inválida: esperado seguidor,seguido. 0 relações anteriores já foram gravadas.\"}")))
+            })
+    public ResponseEntity<FollowImportResultDTO> importFollows(
+            @Parameter(description = "Formato do corpo: text/csv ou application/x-ndjson")
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        FollowImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE))
+                ? FollowImportService.Format.CSV
+                : FollowImportService.Format.NDJSON;
+        FollowImportResultDTO result = followImportService.importFollows(body, format);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping
     @Operation(summary = "Parar de seguir um usuário",
             description = "Remove uma relação de 'seguir' existente entre dois usuários.",
@@ -66,13 +99,19 @@ public class FollowController {
                     @ApiResponse(responseCode = "200", description = "Lista de seguidores retornada com sucesso",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = UserResponseDTO[].class))),
+                    @ApiResponse(responseCode = "304", description = "Conteúdo igual ao do ETag enviado em If-None-Match", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Usuário não encontrado com ID: X\"}")))
             })
     public ResponseEntity<List<UserResponseDTO>> getFollowers(
             @Parameter(description = "ID do usuário para buscar os seguidores")
-            @PathVariable Long userId) {
+            @PathVariable Long userId,
+            WebRequest request) {
+        String etag = ETags.of(contentVersions.followersTag(userId), request);
+        if (ETags.notModified(etag, request)) {
+            return null;
+        }
         List<UserResponseDTO> followers = followService.getFollowers(userId);
-        return ResponseEntity.ok(followers);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(followers);
     }
 
     @GetMapping("/following/{userId}")
@@ -82,13 +121,19 @@ public class FollowController {
                     @ApiResponse(responseCode = "200", description = "Lista de usuários que o usuário segue retornada com sucesso",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = UserResponseDTO[].class))),
+                    @ApiResponse(responseCode = "304", description = "Conteúdo igual ao do ETag enviado em If-None-Match", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Usuário não encontrado com ID: X\"}")))
             })
     public ResponseEntity<List<UserResponseDTO>> getFollowing(
             @Parameter(description = "ID do usuário para buscar quem ele está seguindo")
-            @PathVariable Long userId) {
+            @PathVariable Long userId,
+            WebRequest request) {
+        String etag = ETags.of(contentVersions.followingTag(userId), request);
+        if (ETags.notModified(etag, request)) {
+            return null;
+        }
         List<UserResponseDTO> following = followService.getFollowing(userId);
-        return ResponseEntity.ok(following);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(following);
     }
 
     @GetMapping("/followers/count/{userId}")
@@ -120,4 +165,20 @@ public class FollowController {
         long count = followService.countFollowing(userId);
         return ResponseEntity.ok(count);
     }
+
+    @GetMapping("/check")
+    @Operation(summary = "Verificar se um usuário segue outro",
+            description = "Retorna verdadeiro se o usuário seguidor segue o usuário informado.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Verificação realizada com sucesso",
+                            content = @Content(mediaType = "application/json", schema = @Schema(type = "boolean", example = "true")))
+            })
+    public ResponseEntity<Boolean> isFollowing(
+            @Parameter(description = "ID do usuário seguidor")
+            @RequestParam Long followerId,
+            @Parameter(description = "ID do usuário seguido")
+            @RequestParam Long followedId) {
+        boolean following = followService.isFollowing(followerId, followedId);
+        return ResponseEntity.ok(following);
+    }
 }
\ No newline at end of file
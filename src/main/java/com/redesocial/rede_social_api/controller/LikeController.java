@@ -8,6 +8,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -56,4 +59,22 @@ public class LikeController {
         likeService.unlikePost(likeDTO);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/status")
+    @Operation(summary = "Verificar curtidas de um usuário em vários posts",
+            description = "Retorna, para cada ID de post informado, se o usuário o curtiu. Aceita no máximo 100 posts por requisição.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Verificação realizada com sucesso",
+                            content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"10\": true, \"11\": false}"))),
+                    @ApiResponse(responseCode = "400", description = "Mais de 100 posts informados", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
+            })
+    public ResponseEntity<Map<Long, Boolean>> getLikeStatus(
+            @Parameter(description = "ID do usuário")
+            @RequestParam Long userId,
+            @Parameter(description = "IDs dos posts, separados por vírgula")
+            @RequestParam List<Long> postIds) {
+        Map<Long, Boolean> status = likeService.getLikeStatus(userId, postIds);
+        return ResponseEntity.ok(status);
+    }
+}
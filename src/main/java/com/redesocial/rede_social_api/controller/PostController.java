@@ -2,12 +2,20 @@ package com.redesocial.rede_social_api.controller;
 
 import com.redesocial.rede_social_api.dto.PostCreateDTO;
 import com.redesocial.rede_social_api.dto.PostResponseDTO;
+import com.redesocial.rede_social_api.dto.PostSearchResultDTO;
+import com.redesocial.rede_social_api.dto.SearchCursor;
+import com.redesocial.rede_social_api.service.ContentVersions;
+import com.redesocial.rede_social_api.service.PostExportService;
 import com.redesocial.rede_social_api.service.PostService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,6 +23,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -23,11 +32,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @Tag(name = "Posts", description = "Gerenciamento de posts de usuários")
 public class PostController {
 
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
     private final PostService postService;
+    private final PostExportService postExportService;
+    private final ContentVersions contentVersions;
 
     @Autowired
-    public PostController(PostService postService) {
+    public PostController(PostService postService, PostExportService postExportService, ContentVersions contentVersions) {
         this.postService = postService;
+        this.postExportService = postExportService;
+        this.contentVersions = contentVersions;
     }
 
     @PostMapping
@@ -62,6 +77,61 @@ public class PostController {
         return ResponseEntity.ok(posts);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Buscar posts por texto",
+            description = "Retorna os posts cujo conteúdo contém os termos buscados, do mais relevante para o menos relevante (BM25). A busca ignora maiúsculas e acentos.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso",
+                            headers = @Header(name = TimelineController.NEXT_CURSOR_HEADER, description = "Cursor para buscar a próxima página (ausente na última página)"),
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = PostSearchResultDTO[].class))),
+                    @ApiResponse(responseCode = "400", description = "Termo de busca vazio, cursor ou limite inválido", content = @Content)
+            })
+    public ResponseEntity<List<PostSearchResultDTO>> searchPosts(
+            @Parameter(description = "Termos de busca", example = "documentação api")
+            @RequestParam String q,
+            @Parameter(description = "Cursor retornado na página anterior (<score>,<id>)", example = "3.2178,50")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de posts na página (1 a 100)")
+            @RequestParam(defaultValue = "20") int limit) {
+        List<PostSearchResultDTO> results = postService.searchPosts(q, SearchCursor.parse(cursor), limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (results.size() == limit) {
+            response.header(TimelineController.NEXT_CURSOR_HEADER, SearchCursor.of(results.get(results.size() - 1)).toString());
+        }
+        return response.body(results);
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Obter posts em alta",
+            description = "Retorna os posts com maior engajamento recente (curtidas e comentários, com decaimento exponencial ao longo do tempo), do maior para o menor score.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Posts em alta retornados com sucesso",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = PostResponseDTO[].class)))
+            })
+    public ResponseEntity<List<PostResponseDTO>> getTrendingPosts(
+            @Parameter(description = "Quantidade máxima de posts (1 a 100)")
+            @RequestParam(defaultValue = "20") int limit) {
+        List<PostResponseDTO> posts = postService.getTrendingPosts(limit);
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    @Operation(summary = "Exportar todos os posts",
+            description = "Transmite todos os posts em NDJSON (um objeto JSON por linha), em ordem crescente de ID. A resposta começa a ser enviada imediatamente e o consumo de memória não depende do total de posts.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso",
+                            content = @Content(mediaType = NDJSON_MEDIA_TYPE,
+                                    schema = @Schema(implementation = PostResponseDTO.class)))
+            })
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        StreamingResponseBody body = postExportService::exportPosts;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obter um post por ID",
             description = "Retorna os detalhes de um post específico pelo seu ID.",
@@ -69,13 +139,19 @@ public class PostController {
                     @ApiResponse(responseCode = "200", description = "Post encontrado com sucesso",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = PostResponseDTO.class))),
+                    @ApiResponse(responseCode = "304", description = "Conteúdo igual ao do ETag enviado em If-None-Match", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Post não encontrado", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Post não encontrado com ID: X\"}")))
             })
     public ResponseEntity<PostResponseDTO> getPostById(
             @Parameter(description = "ID do post a ser recuperado")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+        String etag = ETags.of(contentVersions.postTag(id), request);
+        if (ETags.notModified(etag, request)) {
+            return null;
+        }
         PostResponseDTO post = postService.getPostById(id);
-        return ResponseEntity.ok(post);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(post);
     }
 
     @PutMapping("/{id}")
@@ -123,12 +199,18 @@ public class PostController {
                     @ApiResponse(responseCode = "200", description = "Posts do usuário retornados com sucesso",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = PostResponseDTO[].class))),
+                    @ApiResponse(responseCode = "304", description = "Conteúdo igual ao do ETag enviado em If-None-Match", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Usuário não encontrado com ID: X\"}")))
             })
     public ResponseEntity<List<PostResponseDTO>> getPostsByUserId(
             @Parameter(description = "ID do usuário para buscar os posts")
-            @PathVariable Long userId) {
+            @PathVariable Long userId,
+            WebRequest request) {
+        String etag = ETags.of(contentVersions.userPostsTag(userId), request);
+        if (ETags.notModified(etag, request)) {
+            return null;
+        }
         List<PostResponseDTO> posts = postService.getPostsByUserId(userId);
-        return ResponseEntity.ok(posts);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(posts);
     }
 }
\ No newline at end of file
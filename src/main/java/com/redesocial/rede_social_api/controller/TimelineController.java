@@ -1,19 +1,25 @@
 package com.redesocial.rede_social_api.controller;
 
+import com.redesocial.rede_social_api.dto.KeysetCursor;
 import com.redesocial.rede_social_api.dto.PostResponseDTO;
+import com.redesocial.rede_social_api.service.ContentVersions;
 import com.redesocial.rede_social_api.service.TimelineService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -22,26 +28,46 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @Tag(name = "Timeline", description = "Operações relacionadas à linha do tempo de posts")
 public class TimelineController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TimelineService timelineService;
+    private final ContentVersions contentVersions;
 
     @Autowired
-    public TimelineController(TimelineService timelineService) {
+    public TimelineController(TimelineService timelineService, ContentVersions contentVersions) {
         this.timelineService = timelineService;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping("/{userId}")
     @Operation(summary = "Obter a timeline de um usuário",
-            description = "Retorna uma lista de posts da timeline de um usuário, incluindo posts de quem ele segue e seus próprios posts.",
+            description = "Retorna uma página de posts da timeline de um usuário, incluindo posts de quem ele segue e seus próprios posts, do mais recente para o mais antigo.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Timeline retornada com sucesso",
+                            headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor para buscar a próxima página (ausente na última página)"),
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = PostResponseDTO[].class))),
+                    @ApiResponse(responseCode = "304", description = "Conteúdo igual ao do ETag enviado em If-None-Match", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Usuário não encontrado com ID: X\"}")))
             })
     public ResponseEntity<List<PostResponseDTO>> getTimeline(
             @Parameter(description = "ID do usuário para buscar a timeline")
-            @PathVariable Long userId) {
-        List<PostResponseDTO> timeline = timelineService.getUserTimeline(userId);
-        return ResponseEntity.ok(timeline);
+            @PathVariable Long userId,
+            @Parameter(description = "Cursor retornado na página anterior (<createdAt>,<id>)", example = "2024-05-28T11:00:00,50")
+            @RequestParam(required = false) String before,
+            @Parameter(description = "Quantidade máxima de posts na página (1 a 100)")
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        // A versão cobre a timeline inteira, então vale para qualquer página (before/limit fazem parte da URL).
+        String etag = ETags.of(contentVersions.timelineTag(userId), request);
+        if (ETags.notModified(etag, request)) {
+            return null;
+        }
+        List<PostResponseDTO> timeline = timelineService.getUserTimeline(userId, KeysetCursor.parse(before), limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT);
+        if (timeline.size() == limit) {
+            response.header(NEXT_CURSOR_HEADER, KeysetCursor.of(timeline.get(timeline.size() - 1)).toString());
+        }
+        return response.body(timeline);
     }
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.redesocial.rede_social_api.controller;
 
 import com.redesocial.rede_social_api.dto.UserRegisterDTO;
 import com.redesocial.rede_social_api.dto.UserResponseDTO;
+import com.redesocial.rede_social_api.dto.UserSummaryDTO;
+import com.redesocial.rede_social_api.dto.UserSuggestionDTO;
+import com.redesocial.rede_social_api.service.SuggestionService;
 import com.redesocial.rede_social_api.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +17,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -23,10 +27,12 @@ import io.swagger.v3.oas.annotations.media.Schema;
 public class UserController {
 
     private final UserService userService;
+    private final SuggestionService suggestionService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, SuggestionService suggestionService) {
         this.userService = userService;
+        this.suggestionService = suggestionService;
     }
 
     @PostMapping("/register")
@@ -49,15 +55,24 @@ public class UserController {
 
     @GetMapping
     @Operation(summary = "Obter todos os usuários",
-            description = "Retorna uma lista de todos os usuários registrados no sistema.",
+            description = "Retorna uma página de usuários registrados no sistema, em ordem crescente de ID.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Lista de usuários retornada com sucesso",
+                            headers = @Header(name = TimelineController.NEXT_CURSOR_HEADER, description = "ID a informar em 'after' para buscar a próxima página (ausente na última página)"),
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = UserResponseDTO[].class)))
             })
-    public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-        List<UserResponseDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserResponseDTO>> getAllUsers(
+            @Parameter(description = "ID do último usuário da página anterior")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Quantidade máxima de usuários na página (1 a 100)")
+            @RequestParam(defaultValue = "20") int limit) {
+        List<UserResponseDTO> users = userService.getAllUsers(after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.size() == limit) {
+            response.header(TimelineController.NEXT_CURSOR_HEADER, String.valueOf(users.get(users.size() - 1).getId()));
+        }
+        return response.body(users);
     }
 
     @GetMapping("/{id}")
@@ -76,6 +91,40 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @GetMapping("/{id}/summary")
+    @Operation(summary = "Obter o resumo do perfil de um usuário",
+            description = "Retorna os dados do usuário junto com as quantidades de seguidores, de usuários seguidos, de posts e de curtidas recebidas, lidas de contadores mantidos a cada escrita. Substitui as chamadas separadas de contagem e a listagem de posts para montar um perfil.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Resumo retornado com sucesso",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserSummaryDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Usuário não encontrado com ID: X\"}")))
+            })
+    public ResponseEntity<UserSummaryDTO> getUserSummary(
+            @Parameter(description = "ID do usuário")
+            @PathVariable Long id) {
+        UserSummaryDTO summary = userService.getUserSummary(id);
+        return ResponseEntity.ok(summary);
+    }
+
+    @GetMapping("/{id}/suggestions")
+    @Operation(summary = "Sugerir usuários para seguir",
+            description = "Retorna usuários seguidos por quem o usuário segue, ordenados pela quantidade de conexões em comum. O resultado fica em cache por alguns minutos.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserSuggestionDTO[].class))),
+                    @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Usuário não encontrado com ID: X\"}")))
+            })
+    public ResponseEntity<List<UserSuggestionDTO>> getSuggestions(
+            @Parameter(description = "ID do usuário que receberá as sugestões")
+            @PathVariable Long id,
+            @Parameter(description = "Quantidade máxima de sugestões (1 a 50)")
+            @RequestParam(defaultValue = "10") int limit) {
+        List<UserSuggestionDTO> suggestions = suggestionService.getSuggestions(id, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar um usuário existente",
             description = "Atualiza o email de um usuário específico. O username não pode ser alterado.",
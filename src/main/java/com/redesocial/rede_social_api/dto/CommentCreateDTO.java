@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Data
@@ -12,7 +14,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 public class CommentCreateDTO {
 
     @NotNull(message = "ID do post é obrigatório")
-    @Schema(description = "ID do post ao qual o comentário pertence", example = "1")
+    @Schema(description = "ID do post ao qual o comentário pertence", example = "1", type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long postId;
 
     @NotBlank(message = "Comentário não pode ser vazio")
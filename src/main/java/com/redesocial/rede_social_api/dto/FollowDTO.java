@@ -3,6 +3,8 @@ package com.redesocial.rede_social_api.dto;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Data
@@ -10,11 +12,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 public class FollowDTO {
 
     @NotNull(message = "O ID do seguidor não pode ser nulo.")
-    @Schema(description = "ID do usuário que está iniciando a ação de seguir/parar de seguir", example = "1")
+    @Schema(description = "ID do usuário que está iniciando a ação de seguir/parar de seguir", example = "1", type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long followerId;
 
     @NotNull(message = "O ID do usuário a ser seguido não pode ser nulo.")
-    @Schema(description = "ID do usuário que está sendo seguido/deixado de seguir", example = "2")
+    @Schema(description = "ID do usuário que está sendo seguido/deixado de seguir", example = "2", type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long followedId;
 
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.redesocial.rede_social_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AccessMode;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO com o resultado de uma importação em massa de relações de seguir")
+public class FollowImportResultDTO {
+    @Schema(description = "Quantidade de pares (seguidor, seguido) lidos do corpo da requisição", example = "500000", accessMode = AccessMode.READ_ONLY)
+    private long received;
+
+    @Schema(description = "Quantidade de relações novas gravadas", example = "487310", accessMode = AccessMode.READ_ONLY)
+    private long imported;
+
+    @Schema(description = "Pares repetidos no próprio arquivo ou que já existiam", example = "12650", accessMode = AccessMode.READ_ONLY)
+    private long duplicates;
+
+    @Schema(description = "Pares descartados por apontarem para usuário inexistente ou por seguir a si mesmo", example = "40", accessMode = AccessMode.READ_ONLY)
+    private long rejected;
+
+    @Schema(description = "Quantidade de transações (lotes) confirmadas", example = "50", accessMode = AccessMode.READ_ONLY)
+    private int chunks;
+
+    @Schema(description = "Duração total da importação em milissegundos", example = "2140", accessMode = AccessMode.READ_ONLY)
+    private long elapsedMillis;
+}
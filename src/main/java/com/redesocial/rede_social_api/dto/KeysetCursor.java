@@ -0,0 +1,56 @@
+package com.redesocial.rede_social_api.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Cursor de paginação no formato <createdAt>,<id>", example = "2024-05-28T11:00:00,50")
+public final class KeysetCursor {
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public KeysetCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static KeysetCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int separator = value.lastIndexOf(',');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+        try {
+            return new KeysetCursor(
+                    LocalDateTime.parse(value.substring(0, separator).trim()),
+                    Long.parseLong(value.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+    }
+
+    public static KeysetCursor of(PostResponseDTO post) {
+        return new KeysetCursor(post.getCreatedAt(), post.getId());
+    }
+
+    public static KeysetCursor of(CommentResponseDTO comment) {
+        return new KeysetCursor(comment.getCreatedAt(), comment.getId());
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return createdAt + "," + id;
+    }
+}
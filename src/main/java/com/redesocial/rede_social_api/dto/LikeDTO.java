@@ -3,6 +3,8 @@ package com.redesocial.rede_social_api.dto;
 import lombok.Data;
 import jakarta.validation.constraints.NotNull;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Data
@@ -10,10 +12,12 @@ import io.swagger.v3.oas.annotations.media.Schema;
 public class LikeDTO {
 
     @NotNull(message = "O ID do usuário não pode ser nulo.")
-    @Schema(description = "ID do usuário que está curtindo ou descurtindo", example = "1")
+    @Schema(description = "ID do usuário que está curtindo ou descurtindo", example = "1", type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long userId;
 
     @NotNull(message = "O ID do post não pode ser nulo.")
-    @Schema(description = "ID do post que está sendo curtido ou descurtido", example = "50")
+    @Schema(description = "ID do post que está sendo curtido ou descurtido", example = "50", type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long postId;
 }
\ No newline at end of file
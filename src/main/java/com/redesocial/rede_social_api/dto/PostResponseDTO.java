@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.media.Schema.AccessMode;
 
@@ -13,13 +15,15 @@ import io.swagger.v3.oas.annotations.media.Schema.AccessMode;
 @AllArgsConstructor
 @Schema(description = "DTO para a resposta de um post")
 public class PostResponseDTO {
-    @Schema(description = "ID único do post", example = "50", accessMode = AccessMode.READ_ONLY)
+    @Schema(description = "ID único do post", example = "50", accessMode = AccessMode.READ_ONLY, type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
     @Schema(description = "Conteúdo do post", example = "Que dia lindo para aprender sobre documentação de API!")
     private String content;
 
-    @Schema(description = "ID do usuário que criou o post", example = "1", accessMode = AccessMode.READ_ONLY)
+    @Schema(description = "ID do usuário que criou o post", example = "1", accessMode = AccessMode.READ_ONLY, type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long userId;
 
     @Schema(description = "Nome de usuário do autor do post", example = "user_test", accessMode = AccessMode.READ_ONLY)
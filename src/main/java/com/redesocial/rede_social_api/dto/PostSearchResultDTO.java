@@ -0,0 +1,37 @@
+package com.redesocial.rede_social_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AccessMode;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO para um post encontrado na busca")
+public class PostSearchResultDTO {
+    @Schema(description = "ID único do post", example = "50", accessMode = AccessMode.READ_ONLY, type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+
+    @Schema(description = "Conteúdo do post", example = "Que dia lindo para aprender sobre documentação de API!")
+    private String content;
+
+    @Schema(description = "ID do usuário que criou o post", example = "1", accessMode = AccessMode.READ_ONLY, type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long userId;
+
+    @Schema(description = "Nome de usuário do autor do post", example = "user_test", accessMode = AccessMode.READ_ONLY)
+    private String username;
+
+    @Schema(description = "Data e hora de criação do post", example = "2024-05-28T11:00:00", accessMode = AccessMode.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Relevância do post para a busca (BM25)", example = "3.2178", accessMode = AccessMode.READ_ONLY)
+    private double score;
+}
@@ -0,0 +1,51 @@
+package com.redesocial.rede_social_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Cursor de paginação da busca no formato <score>,<id>", example = "3.2178,50")
+public final class SearchCursor {
+
+    private final double score;
+    private final long id;
+
+    public SearchCursor(double score, long id) {
+        this.score = score;
+        this.id = id;
+    }
+
+    public static SearchCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int separator = value.lastIndexOf(',');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+        try {
+            double score = Double.parseDouble(value.substring(0, separator).trim());
+            if (!Double.isFinite(score)) {
+                throw new IllegalArgumentException("Cursor inválido: " + value);
+            }
+            return new SearchCursor(score, Long.parseLong(value.substring(separator + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+    }
+
+    public static SearchCursor of(PostSearchResultDTO result) {
+        return new SearchCursor(result.getScore(), result.getId());
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return score + "," + id;
+    }
+}
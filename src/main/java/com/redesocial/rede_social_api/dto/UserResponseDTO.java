@@ -2,13 +2,16 @@ package com.redesocial.rede_social_api.dto;
 
 import lombok.Data;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.media.Schema.AccessMode;
 
 @Data
 @Schema(description = "DTO para a resposta de informações de um usuário")
 public class UserResponseDTO {
-    @Schema(description = "ID único do usuário", example = "1", accessMode = AccessMode.READ_ONLY)
+    @Schema(description = "ID único do usuário", example = "1", accessMode = AccessMode.READ_ONLY, type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
     @Schema(description = "Nome de usuário único", example = "joao_silva")
@@ -0,0 +1,26 @@
+package com.redesocial.rede_social_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AccessMode;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO para uma sugestão de usuário a seguir")
+public class UserSuggestionDTO {
+    @Schema(description = "ID do usuário sugerido", example = "7", accessMode = AccessMode.READ_ONLY, type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+
+    @Schema(description = "Nome de usuário do usuário sugerido", example = "maria_souza", accessMode = AccessMode.READ_ONLY)
+    private String username;
+
+    @Schema(description = "Quantidade de pessoas seguidas pelo usuário que também seguem o sugerido", example = "12", accessMode = AccessMode.READ_ONLY)
+    private int mutualConnections;
+}
@@ -0,0 +1,40 @@
+package com.redesocial.rede_social_api.dto;
+
+import lombok.Data;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.AccessMode;
+
+@Data
+@Schema(description = "DTO com os dados de perfil de um usuário e seus contadores")
+public class UserSummaryDTO {
+    @Schema(description = "ID único do usuário", example = "1", accessMode = AccessMode.READ_ONLY, type = "string")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+
+    @Schema(description = "Nome de usuário único", example = "joao_silva", accessMode = AccessMode.READ_ONLY)
+    private String username;
+
+    @Schema(description = "Endereço de email do usuário", example = "joao.silva@example.com", accessMode = AccessMode.READ_ONLY)
+    private String email;
+
+    @Schema(description = "Primeiro nome do usuário", example = "João", accessMode = AccessMode.READ_ONLY)
+    private String firstName;
+
+    @Schema(description = "Último nome do usuário", example = "Silva", accessMode = AccessMode.READ_ONLY)
+    private String lastName;
+
+    @Schema(description = "Quantidade de seguidores", example = "120", accessMode = AccessMode.READ_ONLY)
+    private long followers;
+
+    @Schema(description = "Quantidade de usuários que este usuário segue", example = "80", accessMode = AccessMode.READ_ONLY)
+    private long following;
+
+    @Schema(description = "Quantidade de posts publicados", example = "35", accessMode = AccessMode.READ_ONLY)
+    private long posts;
+
+    @Schema(description = "Total de curtidas recebidas nos posts do usuário", example = "940", accessMode = AccessMode.READ_ONLY)
+    private long likesReceived;
+}
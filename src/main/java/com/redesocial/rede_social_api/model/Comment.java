@@ -11,14 +11,15 @@ import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "comments")
+// O índice cobre a paginação por keyset dos comentários de um post (post_id, created_at, id).
+@Table(name = "comments", indexes = @Index(name = "idx_comments_post_created", columnList = "post_id, created_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @NotBlank(message = "Comentário não pode ser vazio")
@@ -29,12 +30,12 @@ public class Comment {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @NotNull(message = "Comentário deve ter um usuário")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = false)
     @NotNull(message = "Comentário deve estar associoado á algum post")
     private Post post;
@@ -9,22 +9,22 @@ import java.time.LocalDateTime;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "follows")
+@Table(name = "follows", uniqueConstraints = @UniqueConstraint(name = "uk_follows_follower_followed", columnNames = {"follower_id", "followed_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Follow {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "follower_id", nullable = false)
     @NotNull(message = "O seguidor não pode ser nulo")
     private User follower;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "followed_id", nullable = false)
     @NotNull(message = "O usuário seguido não pode ser vazio")
     private User followed;
@@ -9,22 +9,22 @@ import java.time.LocalDateTime;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "likes")
+@Table(name = "likes", uniqueConstraints = @UniqueConstraint(name = "uk_likes_user_post", columnNames = {"user_id", "post_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Like {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @NotNull(message = "O usuário que curtiu não pode ser nulo")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = false)
     @NotNull(message = "A postagem curtida não pode ser nula")
     private Post post;
@@ -11,14 +11,14 @@ import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = @Index(name = "idx_posts_user_created_id", columnList = "user_id, created_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @NotBlank(message = "Post não pode ser vazio")
@@ -29,11 +29,19 @@ public class Post {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @NotNull(message = "Post deve ter um usuário")
     private User user;
 
+    // Atualizado apenas em lote pelo LikeCounterService, nunca pelo save da entidade.
+    @Column(name = "like_count", nullable = false, updatable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long likeCount;
+
+    public Post(Long id, String content, LocalDateTime createdAt, User user) {
+        this(id, content, createdAt, user, 0L);
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -0,0 +1,39 @@
+package com.redesocial.rede_social_api.model;
+
+import com.redesocial.rede_social_api.util.Snowflake;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    // Definido via spring.jpa.properties.redesocial.id.node-id; deve ser único por instância da aplicação.
+    public static final String NODE_ID_SETTING = "redesocial.id.node-id";
+
+    // Um gerador por nó, compartilhado entre as entidades: IDs não se repetem nem entre tabelas.
+    private static final Map<Long, Snowflake> GENERATORS = new ConcurrentHashMap<>();
+
+    private final Snowflake snowflake;
+
+    public SnowflakeIdGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object nodeId = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(NODE_ID_SETTING);
+        long node = nodeId == null ? 0L : Long.parseLong(nodeId.toString().trim());
+        this.snowflake = forNode(node);
+    }
+
+    // Para inserts feitos fora do Hibernate (JDBC em lote) usarem a mesma sequência das entidades.
+    public static Snowflake forNode(long nodeId) {
+        return GENERATORS.computeIfAbsent(nodeId, Snowflake::new);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return snowflake.nextId();
+    }
+}
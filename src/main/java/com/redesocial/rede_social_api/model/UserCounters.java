@@ -0,0 +1,32 @@
+package com.redesocial.rede_social_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Contadores desnormalizados do perfil, uma linha por usuário. Atualizados com incrementos atômicos em SQL
+// (UserCounterService), nunca lidos e regravados pela entidade.
+@Entity
+@Table(name = "user_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCounters {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long followers;
+
+    @Column(nullable = false)
+    private long following;
+
+    @Column(nullable = false)
+    private long posts;
+
+    @Column(nullable = false)
+    private long likesReceived;
+}
@@ -1,14 +1,44 @@
 package com.redesocial.rede_social_api.repository;
 
+import com.redesocial.rede_social_api.dto.CommentResponseDTO;
 import com.redesocial.rede_social_api.model.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPost_Id(Long postId);
     List<Comment> findByUser_Id(Long userId);
     long countByPost_Id(Long postId);
+
+    // Comentário e autor numa única consulta, direto para o DTO: o custo depende do tamanho da página, não do post.
+    @Query("select new com.redesocial.rede_social_api.dto.CommentResponseDTO(c.id, c.content, u.username, c.post.id, c.createdAt)" +
+            " from Comment c join c.user u where c.post.id = :postId order by c.createdAt, c.id")
+    List<CommentResponseDTO> findPage(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("select new com.redesocial.rede_social_api.dto.CommentResponseDTO(c.id, c.content, u.username, c.post.id, c.createdAt)" +
+            " from Comment c join c.user u where c.post.id = :postId" +
+            " and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id))" +
+            " order by c.createdAt, c.id")
+    List<CommentResponseDTO> findPageAfter(@Param("postId") Long postId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select c.post.id as postId, c.createdAt as createdAt from Comment c where c.createdAt > :since")
+    Stream<EngagementEvent> streamEventsSince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.redesocial.rede_social_api.repository;
+
+import java.time.LocalDateTime;
+
+public interface EngagementEvent {
+    Long getPostId();
+    LocalDateTime getCreatedAt();
+}
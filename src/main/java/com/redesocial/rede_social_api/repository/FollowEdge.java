@@ -0,0 +1,7 @@
+package com.redesocial.rede_social_api.repository;
+
+public interface FollowEdge {
+    Long getId();
+    Long getFollowerId();
+    Long getFollowedId();
+}
@@ -2,17 +2,46 @@ package com.redesocial.rede_social_api.repository;
 
 import com.redesocial.rede_social_api.model.Follow;
 import com.redesocial.rede_social_api.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FollowRepository extends JpaRepository<Follow, Long> {
+    @EntityGraph(attributePaths = "follower")
     List<Follow> findByFollowed(User followed);
+
+    @EntityGraph(attributePaths = "followed")
     List<Follow> findByFollower(User follower);
     boolean existsByFollowerAndFollowed(User follower, User followed);
+    boolean existsByFollowerIdAndFollowedId(Long followerId, Long followedId);
     Long countByFollowed(User followed);
     Long countByFollower(User follower);
-    void deleteByFollowerAndFollowed(User follower, User followed);
+
+    @Modifying
+    @Query("delete from Follow f where f.follower.id = :followerId and f.followed.id = :followedId")
+    int deleteByFollowerIdAndFollowedId(@Param("followerId") Long followerId, @Param("followedId") Long followedId);
+
+    @Query("select f.followed.id from Follow f where f.follower.id = :followerId")
+    List<Long> findFollowedIdsByFollowerId(@Param("followerId") Long followerId);
+
+    @Query("select f.follower.id from Follow f where f.followed.id = :followedId")
+    List<Long> findFollowerIdsByFollowedId(@Param("followedId") Long followedId);
+
+    @Query("select f.followed.id from Follow f where f.follower.id = :followerId and f.followed.id in :followedIds")
+    List<Long> findFollowedIdsAmong(@Param("followerId") Long followerId, @Param("followedIds") Collection<Long> followedIds);
+
+    @Query("select f.id as id, f.follower.id as followerId, f.followed.id as followedId from Follow f" +
+            " where f.id > :afterId order by f.id")
+    List<FollowEdge> findEdgesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select f.followed.id from Follow f group by f.followed.id having count(f) > :threshold")
+    List<Long> findFollowedIdsWithMoreFollowersThan(@Param("threshold") long threshold);
 }
\ No newline at end of file
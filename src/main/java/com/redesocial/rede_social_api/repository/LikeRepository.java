@@ -4,15 +4,38 @@ import com.redesocial.rede_social_api.model.Like;
 import com.redesocial.rede_social_api.model.Post;
 import com.redesocial.rede_social_api.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface LikeRepository extends JpaRepository<Like, Long> {
     List<Like> findByPost(Post post);
     List<Like> findByUser(User user);
     boolean existsByUserAndPost(User user, Post post);
+    boolean existsByUserIdAndPostId(Long userId, Long postId);
     long countByPost(Post post);
-    void deleteByUserAndPost(User user, Post post);
+
+    @Modifying
+    @Query("delete from Like l where l.user.id = :userId and l.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select l.post.id as postId, l.createdAt as createdAt from Like l where l.createdAt > :since")
+    Stream<EngagementEvent> streamEventsSince(@Param("since") LocalDateTime since);
+
+    @Query("select l.post.id from Like l where l.user.id = :userId and l.post.id in :postIds")
+    List<Long> findLikedPostIdsAmong(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
 }
\ No newline at end of file
@@ -2,15 +2,74 @@ package com.redesocial.rede_social_api.repository;
 
 import com.redesocial.rede_social_api.model.Post;
 import com.redesocial.rede_social_api.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+    // Post.user é LAZY; as consultas que devolvem posts para mapear em DTO trazem o autor no mesmo SELECT.
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<Post> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Post> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "user")
     List<Post> findByUserIdIn(List<Long> userIds);
+
+    @EntityGraph(attributePaths = "user")
     List<Post> findByUser_Id(Long userId);
+
+    @EntityGraph(attributePaths = "user")
     List<Post> findByUserOrderByCreatedAtDesc(User user);
+
+    @EntityGraph(attributePaths = "user")
     List<Post> findAllByOrderByCreatedAtDesc();
+
+    // Fetch size Integer.MIN_VALUE liga o streaming linha a linha do Connector/J só nesta consulta, sem
+    // cursores no servidor para o resto da aplicação. Enquanto o stream estiver aberto a conexão não aceita outra consulta.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select p from Post p join fetch p.user order by p.id")
+    Stream<Post> streamAllOrderById();
+
+    @Query("select p from Post p join fetch p.user where p.id in :ids")
+    List<Post> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.id as id, p.content as content from Post p where p.id > :afterId order by p.id")
+    List<PostText> findTextsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select p.likeCount from Post p where p.id = :postId")
+    Optional<Long> findLikeCountById(@Param("postId") Long postId);
+
+    @Query("select p.id from Post p where p.user.id in :userIds order by p.createdAt desc, p.id desc")
+    List<Long> findRecentIdsByUserIdIn(@Param("userIds") List<Long> userIds, Pageable pageable);
+
+    @Query("select p from Post p join fetch p.user where p.user.id in :userIds order by p.createdAt desc, p.id desc")
+    List<Post> findTimelinePage(@Param("userIds") List<Long> userIds, Pageable pageable);
+
+    @Query("select p from Post p join fetch p.user where p.user.id in :userIds" +
+            " and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))" +
+            " order by p.createdAt desc, p.id desc")
+    List<Post> findTimelinePageBefore(@Param("userIds") List<Long> userIds,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
 }
\ No newline at end of file
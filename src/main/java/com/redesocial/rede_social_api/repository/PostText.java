@@ -0,0 +1,6 @@
+package com.redesocial.rede_social_api.repository;
+
+public interface PostText {
+    Long getId();
+    String getContent();
+}
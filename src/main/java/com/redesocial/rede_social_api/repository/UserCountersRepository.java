@@ -0,0 +1,18 @@
+package com.redesocial.rede_social_api.repository;
+
+import com.redesocial.rede_social_api.model.UserCounters;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserCountersRepository extends JpaRepository<UserCounters, Long> {
+
+    @Query("select u.id as id, u.username as username, u.email as email, u.firstName as firstName, u.lastName as lastName, "
+            + "c.followers as followers, c.following as following, c.posts as posts, c.likesReceived as likesReceived "
+            + "from User u left join UserCounters c on c.userId = u.id where u.id = :userId")
+    Optional<UserSummary> findSummaryById(@Param("userId") Long userId);
+}
@@ -0,0 +1,7 @@
+package com.redesocial.rede_social_api.repository;
+
+public interface UserIdentity {
+    Long getId();
+    String getUsername();
+    String getEmail();
+}
@@ -1,13 +1,24 @@
 package com.redesocial.rede_social_api.repository;
 
 import com.redesocial.rede_social_api.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     User findByUsername(String username);
     User findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("select u.id as id, u.username as username, u.email as email from User u where u.id > :afterId order by u.id")
+    List<UserIdentity> findIdentitiesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
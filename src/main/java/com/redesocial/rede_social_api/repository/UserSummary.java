@@ -0,0 +1,14 @@
+package com.redesocial.rede_social_api.repository;
+
+public interface UserSummary {
+    Long getId();
+    String getUsername();
+    String getEmail();
+    String getFirstName();
+    String getLastName();
+    // Nulos quando o usuário ainda não tem linha em user_counters.
+    Long getFollowers();
+    Long getFollowing();
+    Long getPosts();
+    Long getLikesReceived();
+}
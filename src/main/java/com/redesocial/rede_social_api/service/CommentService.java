@@ -0,0 +1,181 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.CommentCreateDTO;
+import com.redesocial.rede_social_api.dto.CommentResponseDTO;
+import com.redesocial.rede_social_api.dto.KeysetCursor;
+import com.redesocial.rede_social_api.model.Comment;
+import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.repository.CommentRepository;
+import com.redesocial.rede_social_api.util.CacheStats;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import com.redesocial.rede_social_api.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+public class CommentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_CONTENT_LENGTH = 250;
+
+    private final CommentRepository commentRepository;
+    private final UserService userService;
+    private final PostService postService;
+    private final TrendingService trendingService;
+    private final TransactionTemplate transactionTemplate;
+    private final long countTtlMillis;
+    // Contagem de comentários por post. Criações e remoções ajustam a entrada; o TTL corrige eventuais divergências
+    // de uma contagem lida do banco ao mesmo tempo que um comentário era gravado.
+    private final ConcurrentHashMap<Long, CachedCount> counts = new ConcurrentHashMap<>();
+    private final CacheStats countCacheStats = new CacheStats();
+
+    @Autowired
+    public CommentService(CommentRepository commentRepository, UserService userService, PostService postService,
+                          TrendingService trendingService, PlatformTransactionManager transactionManager,
+                          @Value("${redesocial.comments.count-ttl-seconds:300}") long countTtlSeconds) {
+        this.commentRepository = commentRepository;
+        this.userService = userService;
+        this.postService = postService;
+        this.trendingService = trendingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.countTtlMillis = countTtlSeconds * 1000;
+        logger.info("CommentService inicializado.");
+    }
+
+    // Sem @Transactional pelo mesmo motivo de LikeService.likePost: busca do autor, referência ao post e INSERT rodam em
+    // uma única transação (uma conexão), e a chave estrangeira garante que o post existe. Só uma falha consulta o post.
+    public CommentResponseDTO createComment(CommentCreateDTO commentCreateDTO, Long userId) {
+        Long postId = commentCreateDTO.getPostId();
+        logger.info("Usuário {} tentando comentar no post {}.", userId, postId);
+        String content = commentCreateDTO.getContent();
+        if (content == null || content.trim().isEmpty()) {
+            logger.warn("Falha ao comentar no post {}: Comentário vazio.", postId);
+            throw new IllegalArgumentException("O comentário não pode ser vazio.");
+        }
+        if (content.length() > MAX_CONTENT_LENGTH) {
+            logger.warn("Falha ao comentar no post {}: Comentário muito longo ({} caracteres).", postId, content.length());
+            throw new IllegalArgumentException("O comentário deve ter no máximo " + MAX_CONTENT_LENGTH + " caracteres.");
+        }
+        Comment savedComment;
+        try {
+            savedComment = transactionTemplate.execute(status -> {
+                Comment comment = new Comment();
+                comment.setContent(content);
+                comment.setUser(userService.findUserEntityById(userId));
+                comment.setPost(postService.getPostReference(postId));
+                return commentRepository.saveAndFlush(comment);
+            });
+        } catch (DataIntegrityViolationException e) {
+            DataSourceRouting.onPrimary(() -> postService.findPostEntityById(postId));
+            throw e;
+        }
+
+        adjustCount(postId, 1);
+        trendingService.recordComment(postId);
+        logger.info("Comentário {} criado com sucesso pelo usuário {} no post {}.", savedComment.getId(), userId, postId);
+        return new CommentResponseDTO(savedComment.getId(), savedComment.getContent(), savedComment.getUser().getUsername(),
+                postId, savedComment.getCreatedAt());
+    }
+
+    // Página de comentários do mais antigo para o mais recente, seguindo o índice (post_id, created_at, id).
+    @Transactional(readOnly = true)
+    public List<CommentResponseDTO> getCommentsForPost(Long postId, KeysetCursor after, int limit) {
+        logger.info("Buscando comentários do post {} (cursor: {}, limite: {}).", postId, after, limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            logger.warn("Falha ao buscar comentários: limite inválido {}.", limit);
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+        PageRequest page = PageRequest.of(0, limit);
+        List<CommentResponseDTO> comments = after == null
+                ? commentRepository.findPage(postId, page)
+                : commentRepository.findPageAfter(postId, after.getCreatedAt(), after.getId(), page);
+        if (comments.isEmpty()) {
+            // Só uma página vazia precisa distinguir "post sem comentários" de "post inexistente".
+            postService.findPostEntityById(postId);
+        }
+        logger.info("{} comentários encontrados para o post {}.", comments.size(), postId);
+        return comments;
+    }
+
+    public long countCommentsForPost(Long postId) {
+        logger.debug("Contando comentários para o post {}", postId);
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(postId);
+        if (cached == null || cached.expiresAt <= now) {
+            countCacheStats.recordMiss();
+            // Do primário: criações que ainda não chegaram à réplica já não ajustariam esta entrada.
+            long count = DataSourceRouting.onPrimary(() -> commentRepository.countByPost_Id(postId));
+            if (count == 0) {
+                postService.findPostEntityById(postId);
+            }
+            cached = new CachedCount(count, now + countTtlMillis);
+            counts.put(postId, cached);
+        } else {
+            countCacheStats.recordHit();
+        }
+        return cached.value.get();
+    }
+
+    public CacheStats getCountCacheStats() {
+        return countCacheStats;
+    }
+
+    @Transactional
+    public void deleteComment(Long commentId, Long userId) {
+        logger.info("Usuário {} tentando deletar o comentário {}.", userId, commentId);
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> {
+                    logger.warn("Comentário não encontrado com ID: {}", commentId);
+                    return new IllegalArgumentException("Comentário não encontrado com ID: " + commentId);
+                });
+        if (!comment.getUser().getId().equals(userId)) {
+            logger.warn("Falha ao deletar comentário {}: Usuário {} não tem permissão.", commentId, userId);
+            throw new SecurityException("Você não tem permissão para deletar este comentário.");
+        }
+
+        Long postId = comment.getPost().getId();
+        commentRepository.delete(comment);
+        TransactionHooks.afterCommit(() -> adjustCount(postId, -1));
+        logger.info("Comentário {} deletado com sucesso pelo usuário {}.", commentId, userId);
+    }
+
+    @Scheduled(fixedDelayString = "${redesocial.comments.count-ttl-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        counts.values().removeIf(cached -> cached.expiresAt <= now);
+    }
+
+    private void adjustCount(Long postId, long delta) {
+        CachedCount cached = counts.get(postId);
+        if (cached != null) {
+            cached.value.addAndGet(delta);
+        }
+    }
+
+    private static final class CachedCount {
+        private final AtomicLong value;
+        private final long expiresAt;
+
+        private CachedCount(long value, long expiresAt) {
+            this.value = new AtomicLong(value);
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.util.TransactionHooks;
+import com.redesocial.rede_social_api.util.VersionCounters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Versões em memória do conteúdo das leituras mais consultadas, usadas como ETag: cada escrita incrementa, após o commit,
+// as versões do que mudou, e um GET compara o If-None-Match sem ir ao banco nem montar DTOs. As tags incluem o instante
+// de subida da aplicação, então um restart invalida todas; as versões valem para esta instância, como o FollowGraphIndex.
+// Com mais de uma instância, uma escrita em outra não incrementa as versões desta, que responderia 304 com conteúdo
+// velho: por isso os ETags só saem com redesocial.etag.enabled=true, que é para implantações de instância única.
+@Component
+public class ContentVersions {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentVersions.class);
+
+    private static final long USERS_KEY = 0L;
+
+    private final FollowGraphIndex followGraphIndex;
+    private final boolean enabled;
+    private final VersionCounters posts;
+    // Posts de cada autor (criados, editados ou removidos): /api/posts/user/{id} e as timelines de quem o segue.
+    private final VersionCounters authors;
+    private final VersionCounters followers;
+    private final VersionCounters following;
+    // Email alterado ou usuário removido (com seus posts e follows): muda listas de usuários, posts e timelines.
+    private final VersionCounters users = new VersionCounters(1);
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    // Com réplicas, um GET logo após a escrita pode ler a réplica ainda sem ela e guardar a versão nova junto com o
+    // conteúdo velho; nessa janela a resposta sai sem ETag.
+    private final long replicaLagMillis;
+
+    @Autowired
+    public ContentVersions(FollowGraphIndex followGraphIndex,
+                           @Value("${redesocial.etag.enabled:false}") boolean enabled,
+                           @Value("${redesocial.etag.counter-slots:65536}") int slots,
+                           @Value("${redesocial.datasource.replica-urls:}") String replicaUrls,
+                           @Value("${redesocial.datasource.max-replica-lag-seconds:2}") long maxReplicaLagSeconds,
+                           @Value("${redesocial.datasource.replica-lag-check-ms:1000}") long replicaLagCheckMillis) {
+        this.followGraphIndex = followGraphIndex;
+        this.enabled = enabled;
+        this.posts = new VersionCounters(slots);
+        this.authors = new VersionCounters(slots);
+        this.followers = new VersionCounters(slots);
+        this.following = new VersionCounters(slots);
+        this.replicaLagMillis = replicaUrls.isBlank() ? 0 : maxReplicaLagSeconds * 1000 + replicaLagCheckMillis;
+        logger.info("ContentVersions inicializado (ETags {}).", enabled ? "ativos" : "desligados");
+    }
+
+    public void onPostCreated(long authorId) {
+        TransactionHooks.afterCommit(() -> authors.bump(authorId));
+    }
+
+    // Edição ou remoção de um post.
+    public void onPostChanged(long postId, long authorId) {
+        TransactionHooks.afterCommit(() -> {
+            posts.bump(postId);
+            authors.bump(authorId);
+        });
+    }
+
+    // Deve ser chamado depois de atualizar o FollowGraphIndex, que é de onde a tag da timeline lê quem o usuário segue.
+    public void onFollowChanged(long followerId, long followedId) {
+        TransactionHooks.afterCommit(() -> {
+            following.bump(followerId);
+            followers.bump(followedId);
+        });
+    }
+
+    public void onUserChanged() {
+        TransactionHooks.afterCommit(() -> users.bump(USERS_KEY));
+    }
+
+    public String postTag(long postId) {
+        long version = posts.version(postId);
+        return tag("p", posts.bumpedAt(postId), Long.toString(version, 36));
+    }
+
+    public String userPostsTag(long userId) {
+        long version = authors.version(userId);
+        return tag("u", authors.bumpedAt(userId), Long.toString(version, 36));
+    }
+
+    public String followersTag(long userId) {
+        long version = followers.version(userId);
+        return tag("f", followers.bumpedAt(userId), Long.toString(version, 36));
+    }
+
+    public String followingTag(long userId) {
+        long version = following.version(userId);
+        return tag("g", following.bumpedAt(userId), Long.toString(version, 36));
+    }
+
+    // A timeline depende de quem o usuário segue e dos posts de cada um deles (e dos seus). Com o mesmo conjunto de
+    // seguidos, a soma das versões dos autores cresce a cada mudança; um conjunto diferente muda a versão de following.
+    // Sem o índice carregado não há como listar os seguidos sem consultar o banco, então a resposta sai sem ETag.
+    public String timelineTag(long userId) {
+        if (!enabled || !followGraphIndex.isReady()) {
+            return null;
+        }
+        long followingVersion = following.version(userId);
+        long lastBump = following.bumpedAt(userId);
+        long authorsVersion = authors.version(userId);
+        lastBump = Math.max(lastBump, authors.bumpedAt(userId));
+        for (long authorId : followGraphIndex.getFollowing(userId)) {
+            authorsVersion += authors.version(authorId);
+            lastBump = Math.max(lastBump, authors.bumpedAt(authorId));
+        }
+        return tag("t", lastBump, Long.toString(followingVersion, 36) + "." + Long.toString(authorsVersion, 36));
+    }
+
+    private String tag(String kind, long bumpedAt, String version) {
+        if (!enabled) {
+            return null;
+        }
+        long usersVersion = users.version(USERS_KEY);
+        if (isRecent(bumpedAt) || isRecent(users.bumpedAt(USERS_KEY))) {
+            return null;
+        }
+        return kind + "." + epoch + "." + Long.toString(usersVersion, 36) + "." + version;
+    }
+
+    private boolean isRecent(long bumpedAt) {
+        return replicaLagMillis > 0 && System.currentTimeMillis() - bumpedAt < replicaLagMillis;
+    }
+}
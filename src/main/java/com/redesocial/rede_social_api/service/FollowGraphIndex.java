@@ -0,0 +1,198 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.repository.FollowEdge;
+import com.redesocial.rede_social_api.repository.FollowRepository;
+import com.redesocial.rede_social_api.util.BlockedLongSet;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import com.redesocial.rede_social_api.util.LongArrays;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Component
+public class FollowGraphIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowGraphIndex.class);
+
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    private final FollowRepository followRepository;
+
+    // Listas de adjacência ordenadas e imutáveis, em blocos: seguir ou deixar de seguir uma conta com milhões de
+    // seguidores copia um bloco, e não a lista inteira.
+    private volatile ConcurrentHashMap<Long, BlockedLongSet> followers = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<Long, BlockedLongSet> following = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // Alterações recebidas durante a reconstrução, reaplicadas sobre o índice novo.
+    private List<long[]> pendingChanges;
+
+    public FollowGraphIndex(FollowRepository followRepository) {
+        this.followRepository = followRepository;
+        logger.info("FollowGraphIndex inicializado.");
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // Lê do primário: uma relação gravada antes da carga e ainda não replicada não chegaria nem pela carga nem
+        // como evento pendente.
+        DataSourceRouting.onPrimary(this::load);
+    }
+
+    private void load() {
+        logger.info("Reconstruindo índice do grafo de seguidores a partir da tabela follows.");
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        Map<Long, Adjacency> followersByUser = new HashMap<>();
+        Map<Long, Adjacency> followingByUser = new HashMap<>();
+        long lastId = 0;
+        long edges = 0;
+        List<FollowEdge> page;
+        do {
+            page = followRepository.findEdgesAfter(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (FollowEdge edge : page) {
+                followingByUser.computeIfAbsent(edge.getFollowerId(), id -> new Adjacency()).add(edge.getFollowedId());
+                followersByUser.computeIfAbsent(edge.getFollowedId(), id -> new Adjacency()).add(edge.getFollowerId());
+                lastId = edge.getId();
+            }
+            edges += page.size();
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        ConcurrentHashMap<Long, BlockedLongSet> newFollowers = freeze(followersByUser);
+        ConcurrentHashMap<Long, BlockedLongSet> newFollowing = freeze(followingByUser);
+        synchronized (this) {
+            followers = newFollowers;
+            following = newFollowing;
+            for (long[] change : pendingChanges) {
+                apply(change[0] == 1, change[1], change[2]);
+            }
+            pendingChanges = null;
+            ready = true;
+        }
+        logger.info("Índice do grafo de seguidores reconstruído com {} relações em {} ms.", edges, System.currentTimeMillis() - start);
+    }
+
+    public void addEdge(long followerId, long followedId) {
+        record(true, followerId, followedId);
+    }
+
+    // Aplica um lote de relações novas agrupando por usuário: cada lista de adjacência é refeita uma vez por lote, e não
+    // alterada uma vez por relação como em addEdge.
+    public void addEdges(long[] followerIds, long[] followedIds, int count) {
+        Map<Long, Adjacency> followingByUser = new HashMap<>();
+        Map<Long, Adjacency> followersByUser = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            followingByUser.computeIfAbsent(followerIds[i], id -> new Adjacency()).add(followedIds[i]);
+            followersByUser.computeIfAbsent(followedIds[i], id -> new Adjacency()).add(followerIds[i]);
+        }
+        synchronized (this) {
+            if (pendingChanges != null) {
+                for (int i = 0; i < count; i++) {
+                    pendingChanges.add(new long[]{1, followerIds[i], followedIds[i]});
+                }
+            }
+            merge(following, followingByUser);
+            merge(followers, followersByUser);
+        }
+    }
+
+    public void removeEdge(long followerId, long followedId) {
+        record(false, followerId, followedId);
+    }
+
+    // IDs ordenados, para leitura apenas. Listas de até um bloco saem sem cópia; as maiores são montadas a cada chamada.
+    public long[] getFollowers(long userId) {
+        BlockedLongSet ids = followers.get(userId);
+        return ids == null ? LongArrays.EMPTY : ids.toArray();
+    }
+
+    public long[] getFollowing(long userId) {
+        BlockedLongSet ids = following.get(userId);
+        return ids == null ? LongArrays.EMPTY : ids.toArray();
+    }
+
+    public int countFollowers(long userId) {
+        BlockedLongSet ids = followers.get(userId);
+        return ids == null ? 0 : ids.size();
+    }
+
+    public int countFollowing(long userId) {
+        BlockedLongSet ids = following.get(userId);
+        return ids == null ? 0 : ids.size();
+    }
+
+    public boolean isFollowing(long followerId, long followedId) {
+        BlockedLongSet ids = following.get(followerId);
+        return ids != null && ids.contains(followedId);
+    }
+
+    private void record(boolean added, long followerId, long followedId) {
+        synchronized (this) {
+            if (pendingChanges != null) {
+                pendingChanges.add(new long[]{added ? 1 : 0, followerId, followedId});
+            }
+            apply(added, followerId, followedId);
+        }
+    }
+
+    private void apply(boolean added, long followerId, long followedId) {
+        if (added) {
+            following.compute(followerId, (id, ids) -> (ids == null ? BlockedLongSet.EMPTY : ids).insert(followedId));
+            followers.compute(followedId, (id, ids) -> (ids == null ? BlockedLongSet.EMPTY : ids).insert(followerId));
+        } else {
+            following.computeIfPresent(followerId, (id, ids) -> withoutEmpty(ids.remove(followedId)));
+            followers.computeIfPresent(followedId, (id, ids) -> withoutEmpty(ids.remove(followerId)));
+        }
+    }
+
+    // Remove a entrada do mapa quando a lista fica vazia.
+    private static BlockedLongSet withoutEmpty(BlockedLongSet ids) {
+        return ids.size() == 0 ? null : ids;
+    }
+
+    private static void merge(ConcurrentHashMap<Long, BlockedLongSet> index, Map<Long, Adjacency> additions) {
+        additions.forEach((userId, adjacency) -> {
+            long[] added = LongArrays.sortedDistinct(adjacency.values, adjacency.size);
+            index.compute(userId, (id, ids) -> ids == null ? BlockedLongSet.of(added) : ids.union(added));
+        });
+    }
+
+    private static ConcurrentHashMap<Long, BlockedLongSet> freeze(Map<Long, Adjacency> adjacencies) {
+        ConcurrentHashMap<Long, BlockedLongSet> result = new ConcurrentHashMap<>(Math.max(16, adjacencies.size() * 4 / 3));
+        adjacencies.forEach((userId, adjacency) ->
+                result.put(userId, BlockedLongSet.of(LongArrays.sortedDistinct(adjacency.values, adjacency.size))));
+        return result;
+    }
+
+    private static final class Adjacency {
+        private long[] values = new long[4];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.redesocial.rede_social_api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redesocial.rede_social_api.dto.FollowImportResultDTO;
+import com.redesocial.rede_social_api.model.SnowflakeIdGenerator;
+import com.redesocial.rede_social_api.repository.UserRepository;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import com.redesocial.rede_social_api.util.Snowflake;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+public class FollowImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowImportService.class);
+
+    private static final int USER_ID_PAGE_SIZE = 50_000;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int WRITTEN_CHECK_BATCH = 1000;
+
+    // INSERT IGNORE: uma relação que já existe (ou que chegou por outra requisição durante a importação) é pulada pela
+    // chave única em vez de abortar o lote. Com rewriteBatchedStatements o driver do MySQL envia o lote como um único
+    // INSERT de várias linhas.
+    private static final String INSERT_SQL =
+            "insert ignore into follows (id, follower_id, followed_id, created_at) values (?, ?, ?, ?)";
+
+    public enum Format { CSV, NDJSON }
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FollowGraphIndex followGraphIndex;
+    private final TimelineService timelineService;
+    private final SuggestionService suggestionService;
+    private final UserCounterService userCounterService;
+    private final ContentVersions contentVersions;
+    private final JsonFactory jsonFactory;
+    private final Snowflake snowflake;
+    private final int chunkSize;
+
+    @Autowired
+    public FollowImportService(UserRepository userRepository, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               FollowGraphIndex followGraphIndex, TimelineService timelineService, SuggestionService suggestionService,
+                               UserCounterService userCounterService, ContentVersions contentVersions, ObjectMapper objectMapper,
+                               @Value("${spring.jpa.properties.redesocial.id.node-id:0}") long nodeId,
+                               @Value("${redesocial.follows.import-chunk-size:10000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.followGraphIndex = followGraphIndex;
+        this.timelineService = timelineService;
+        this.suggestionService = suggestionService;
+        this.userCounterService = userCounterService;
+        this.contentVersions = contentVersions;
+        this.jsonFactory = objectMapper.getFactory();
+        this.snowflake = SnowflakeIdGenerator.forNode(nodeId);
+        this.chunkSize = chunkSize;
+        logger.info("FollowImportService inicializado.");
+    }
+
+    // Lê pares (seguidor, seguido) do corpo sem carregá-lo inteiro e grava em lotes de chunkSize, cada um na sua própria
+    // transação. Se a leitura falhar no meio, os lotes anteriores continuam gravados; reenviar o arquivo é seguro porque
+    // relações repetidas são ignoradas.
+    public FollowImportResultDTO importFollows(InputStream in, Format format) {
+        logger.info("Iniciando importação de follows em {}.", format);
+        Import job = new Import(DataSourceRouting.onPrimary(this::loadUserIds));
+        try {
+            if (format == Format.CSV) {
+                readCsv(in, job);
+            } else {
+                readNdjson(in, job);
+            }
+        } catch (IOException e) {
+            logger.warn("Importação de follows interrompida após {} relações gravadas: {}", job.imported, e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+        job.flush();
+
+        long elapsed = System.currentTimeMillis() - job.start;
+        logger.info("Importação de follows concluída: {} pares lidos, {} relações gravadas, {} repetidas, {} rejeitadas em {} ms.",
+                job.received, job.imported, job.duplicates, job.rejected, elapsed);
+        return new FollowImportResultDTO(job.received, job.imported, job.duplicates, job.rejected, job.chunks, elapsed);
+    }
+
+    // Todos os IDs de usuário, ordenados: validar um par vira busca binária em memória em vez de duas consultas.
+    private long[] loadUserIds() {
+        long[] ids = new long[USER_ID_PAGE_SIZE];
+        int size = 0;
+        long lastId = 0;
+        List<Long> page;
+        do {
+            page = userRepository.findIdsAfter(lastId, PageRequest.of(0, USER_ID_PAGE_SIZE));
+            if (size + page.size() > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, size + page.size()));
+            }
+            for (Long id : page) {
+                ids[size++] = id;
+                lastId = id;
+            }
+        } while (page.size() == USER_ID_PAGE_SIZE);
+        return Arrays.copyOf(ids, size);
+    }
+
+    // Uma linha "seguidor,seguido" por relação; a primeira linha é ignorada se for um cabeçalho.
+    private void readCsv(InputStream in, Import job) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || lineNumber == 1 && !Character.isDigit(trimmed.charAt(0))) {
+                continue;
+            }
+            int comma = trimmed.indexOf(',');
+            if (comma < 0) {
+                throw invalidLine(lineNumber, job, "esperado seguidor,seguido");
+            }
+            try {
+                long followerId = Long.parseLong(trimmed.substring(0, comma).strip());
+                long followedId = Long.parseLong(trimmed.substring(comma + 1).strip());
+                job.add(followerId, followedId);
+            } catch (NumberFormatException e) {
+                throw invalidLine(lineNumber, job, "IDs devem ser números inteiros");
+            }
+        }
+    }
+
+    // Um objeto {"followerId": 1, "followedId": 2} por linha, lido com o parser de streaming do Jackson.
+    private void readNdjson(InputStream in, Import job) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                long lineNumber = parser.currentLocation().getLineNr();
+                if (token != JsonToken.START_OBJECT) {
+                    throw invalidLine(lineNumber, job, "esperado um objeto JSON");
+                }
+                Long followerId = null;
+                Long followedId = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if ("followerId".equals(field)) {
+                        followerId = readId(parser, job);
+                    } else if ("followedId".equals(field)) {
+                        followedId = readId(parser, job);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (followerId == null || followedId == null) {
+                    throw invalidLine(lineNumber, job, "followerId e followedId são obrigatórios");
+                }
+                job.add(followerId, followedId);
+            }
+        } catch (JsonProcessingException e) {
+            throw invalidLine(e.getLocation() == null ? 0 : e.getLocation().getLineNr(), job, e.getOriginalMessage());
+        }
+    }
+
+    private Long readId(JsonParser parser, Import job) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText().strip());
+            } catch (NumberFormatException e) {
+                // segue para o erro abaixo
+            }
+        }
+        throw invalidLine(parser.currentLocation().getLineNr(), job, "IDs devem ser números inteiros");
+    }
+
+    private IllegalArgumentException invalidLine(long lineNumber, Import job, String reason) {
+        logger.warn("Importação de follows interrompida na linha {} ({}); {} relações já gravadas.", lineNumber, reason, job.imported);
+        return new IllegalArgumentException("Linha " + lineNumber + " inválida: " + reason + ". "
+                + job.imported + " relações anteriores já foram gravadas.");
+    }
+
+    private record Edge(long followerId, long followedId) {
+    }
+
+    private final class Import {
+
+        private final long[] userIds;
+        private final long start = System.currentTimeMillis();
+        private final long[] ids = new long[chunkSize];
+        private final long[] followerIds = new long[chunkSize];
+        private final long[] followedIds = new long[chunkSize];
+        private final Set<Edge> pending = new HashSet<>(chunkSize * 4 / 3 + 1);
+        private int size;
+
+        private long received;
+        private long imported;
+        private long duplicates;
+        private long rejected;
+        private int chunks;
+
+        private Import(long[] userIds) {
+            this.userIds = userIds;
+        }
+
+        private void add(long followerId, long followedId) {
+            received++;
+            if (followerId == followedId || !exists(followerId) || !exists(followedId)) {
+                rejected++;
+                return;
+            }
+            // Com o índice carregado, relações já existentes nem chegam ao banco; sem ele, o INSERT IGNORE as descarta.
+            if (!pending.add(new Edge(followerId, followedId))
+                    || followGraphIndex.isReady() && followGraphIndex.isFollowing(followerId, followedId)) {
+                duplicates++;
+                return;
+            }
+            followerIds[size] = followerId;
+            followedIds[size] = followedId;
+            if (++size == chunkSize) {
+                flush();
+            }
+        }
+
+        private boolean exists(long userId) {
+            return Arrays.binarySearch(userIds, userId) >= 0;
+        }
+
+        private void flush() {
+            if (size == 0) {
+                return;
+            }
+            int count = size;
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < count; i++) {
+                ids[i] = snowflake.nextId();
+            }
+            int inserted = transactionTemplate.execute(status -> {
+                int[] updateCounts = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, ids[i]);
+                        ps.setLong(2, followerIds[i]);
+                        ps.setLong(3, followedIds[i]);
+                        ps.setTimestamp(4, createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+                // 0 = ignorada pela chave única; SUCCESS_NO_INFO (lote reescrito pelo driver) não diz qual linha entrou.
+                Set<Long> confirmed = findWrittenIds(updateCounts, count);
+                int written = 0;
+                for (int i = 0; i < count; i++) {
+                    if (updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO && confirmed.contains(ids[i])) {
+                        followerIds[written] = followerIds[i];
+                        followedIds[written] = followedIds[i];
+                        written++;
+                    }
+                }
+                userCounterService.addFollows(followerIds, followedIds, written);
+                return written;
+            });
+            followGraphIndex.addEdges(followerIds, followedIds, inserted);
+            Set<Long> followers = new HashSet<>();
+            for (int i = 0; i < inserted; i++) {
+                followers.add(followerIds[i]);
+                contentVersions.onFollowChanged(followerIds[i], followedIds[i]);
+            }
+            for (Long followerId : followers) {
+                timelineService.onFollowingChanged(followerId);
+                suggestionService.invalidate(followerId);
+            }
+
+            imported += inserted;
+            duplicates += count - inserted;
+            chunks++;
+            size = 0;
+            pending.clear();
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            logger.info("Importação de follows: {} pares lidos, {} relações gravadas em {} lotes ({} relações/s).",
+                    received, imported, chunks, imported * 1000 / elapsed);
+        }
+
+        // Com rewriteBatchedStatements o Connector/J devolve SUCCESS_NO_INFO para todas as linhas de um INSERT de várias
+        // linhas assim que qualquer uma entra, inclusive as descartadas pelo IGNORE. Os IDs são gerados aqui, então as
+        // linhas ambíguas são conferidas relendo quais IDs existem, na mesma transação.
+        private Set<Long> findWrittenIds(int[] updateCounts, int count) {
+            List<Long> ambiguous = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                    ambiguous.add(ids[i]);
+                }
+            }
+            Set<Long> written = new HashSet<>(ambiguous.size() * 4 / 3 + 1);
+            for (int from = 0; from < ambiguous.size(); from += WRITTEN_CHECK_BATCH) {
+                List<Long> batch = ambiguous.subList(from, Math.min(from + WRITTEN_CHECK_BATCH, ambiguous.size()));
+                String sql = "select id from follows where id in (" + String.join(",", Collections.nCopies(batch.size(), "?")) + ")";
+                written.addAll(jdbcTemplate.queryForList(sql, Long.class, batch.toArray()));
+            }
+            return written;
+        }
+    }
+}
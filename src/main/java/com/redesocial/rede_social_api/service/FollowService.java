@@ -5,10 +5,18 @@ import com.redesocial.rede_social_api.dto.UserResponseDTO;
 import com.redesocial.rede_social_api.model.Follow;
 import com.redesocial.rede_social_api.model.User;
 import com.redesocial.rede_social_api.repository.FollowRepository;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import com.redesocial.rede_social_api.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -19,88 +27,205 @@ public class FollowService {
 
     private static final Logger logger = LoggerFactory.getLogger(FollowService.class);
 
+    // IDs por consulta ao montar listas de seguidores: bem abaixo do limite de 65.535 parâmetros do MySQL.
+    static final int USER_LOOKUP_BATCH = 1000;
+
     private final FollowRepository followRepository;
     private final UserService userService;
+    private final TimelineService timelineService;
+    private final FollowGraphIndex followGraphIndex;
+    private final SuggestionService suggestionService;
+    private final UserCounterService userCounterService;
+    private final ContentVersions contentVersions;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public FollowService(FollowRepository followRepository, UserService userService) {
+    public FollowService(FollowRepository followRepository, UserService userService, TimelineService timelineService,
+                         FollowGraphIndex followGraphIndex, SuggestionService suggestionService,
+                         UserCounterService userCounterService, ContentVersions contentVersions,
+                         PlatformTransactionManager transactionManager) {
         this.followRepository = followRepository;
         this.userService = userService;
+        this.timelineService = timelineService;
+        this.followGraphIndex = followGraphIndex;
+        this.suggestionService = suggestionService;
+        this.userCounterService = userCounterService;
+        this.contentVersions = contentVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         logger.info("FollowService inicializado.");
     }
 
-    @Transactional
+    // Sem @Transactional pelo mesmo motivo de LikeService.likePost: o diagnóstico da falha usa uma sessão nova. O insert
+    // e os contadores ficam numa transação própria, que já terminou (com rollback) quando a exceção chega ao catch.
     public void followUser(FollowDTO followDTO) {
         logger.info("Usuário {} tentando seguir usuário {}.", followDTO.getFollowerId(), followDTO.getFollowedId());
-        User follower = userService.findUserEntityById(followDTO.getFollowerId());
-        User followed = userService.findUserEntityById(followDTO.getFollowedId());
+        Long followerId = followDTO.getFollowerId();
+        Long followedId = followDTO.getFollowedId();
 
-        if (follower.getId().equals(followed.getId())) {
-            logger.warn("Falha ao seguir: Usuário {} tentou seguir a si mesmo.", followDTO.getFollowerId());
+        if (followerId.equals(followedId)) {
+            userService.ensureUserExists(followerId);
+            logger.warn("Falha ao seguir: Usuário {} tentou seguir a si mesmo.", followerId);
             throw new IllegalArgumentException("Um usuário não pode seguir a si mesmo.");
         }
 
-        if (followRepository.existsByFollowerAndFollowed(follower, followed)) {
-            logger.warn("Falha ao seguir: Usuário {} já está seguindo usuário {}.", followDTO.getFollowerId(), followDTO.getFollowedId());
-            throw new IllegalArgumentException("Você já está seguindo este usuário.");
+        try {
+            // As referências ficam dentro da transação do insert para não abrir uma transação (e uma conexão) cada.
+            transactionTemplate.executeWithoutResult(status -> {
+                Follow follow = new Follow();
+                follow.setFollower(userService.getUserReference(followerId));
+                follow.setFollowed(userService.getUserReference(followedId));
+                followRepository.saveAndFlush(follow);
+                userCounterService.recordFollow(followerId, followedId, 1);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw DataSourceRouting.onPrimary(() -> diagnoseFollowFailure(followerId, followedId, e));
         }
-
-        Follow follow = new Follow();
-        follow.setFollower(follower);
-        follow.setFollowed(followed);
-
-        followRepository.save(follow);
-        logger.info("Usuário {} agora está seguindo usuário {}.", followDTO.getFollowerId(), followDTO.getFollowedId());
+        timelineService.onFollowingChanged(followerId);
+        followGraphIndex.addEdge(followerId, followedId);
+        contentVersions.onFollowChanged(followerId, followedId);
+        suggestionService.invalidate(followerId);
+        logger.info("Usuário {} agora está seguindo usuário {}.", followerId, followedId);
     }
 
     @Transactional
     public void unfollowUser(FollowDTO followDTO) {
         logger.info("Usuário {} tentando deixar de seguir usuário {}.", followDTO.getFollowerId(), followDTO.getFollowedId());
-        User follower = userService.findUserEntityById(followDTO.getFollowerId());
-        User followed = userService.findUserEntityById(followDTO.getFollowedId());
+        Long followerId = followDTO.getFollowerId();
+        Long followedId = followDTO.getFollowedId();
 
-        if (!followRepository.existsByFollowerAndFollowed(follower, followed)) {
-            logger.warn("Falha ao deixar de seguir: Usuário {} não está seguindo usuário {}.", followDTO.getFollowerId(), followDTO.getFollowedId());
+        if (followRepository.deleteByFollowerIdAndFollowedId(followerId, followedId) == 0) {
+            userService.ensureUserExists(followerId);
+            userService.ensureUserExists(followedId);
+            logger.warn("Falha ao deixar de seguir: Usuário {} não está seguindo usuário {}.", followerId, followedId);
             throw new IllegalArgumentException("Você não está seguindo este usuário.");
         }
 
-        followRepository.deleteByFollowerAndFollowed(follower, followed);
-        logger.info("Usuário {} deixou de seguir usuário {}.", followDTO.getFollowerId(), followDTO.getFollowedId());
+        userCounterService.recordFollow(followerId, followedId, -1);
+        timelineService.onFollowingChanged(followerId);
+        TransactionHooks.afterCommit(() -> {
+            followGraphIndex.removeEdge(followerId, followedId);
+            suggestionService.invalidate(followerId);
+        });
+        contentVersions.onFollowChanged(followerId, followedId);
+        logger.info("Usuário {} deixou de seguir usuário {}.", followerId, followedId);
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponseDTO> getFollowers(Long userId) {
         logger.info("Buscando seguidores para o usuário com ID: {}", userId);
-        User user = userService.findUserEntityById(userId);
-        List<UserResponseDTO> followers = followRepository.findByFollowed(user).stream()
-                .map(follow -> userService.mapUserToUserResponseDTO(follow.getFollower()))
-                .collect(Collectors.toList());
+        List<UserResponseDTO> followers;
+        if (followGraphIndex.isReady()) {
+            userService.ensureUserExists(userId);
+            followers = mapUsers(followGraphIndex.getFollowers(userId));
+        } else {
+            User user = userService.findUserEntityById(userId);
+            followers = followRepository.findByFollowed(user).stream()
+                    .map(follow -> userService.mapUserToUserResponseDTO(follow.getFollower()))
+                    .collect(Collectors.toList());
+        }
         logger.info("Encontrados {} seguidores para o usuário {}.", followers.size(), userId);
         return followers;
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponseDTO> getFollowing(Long userId) {
         logger.info("Buscando quem o usuário {} está seguindo.", userId);
-        User user = userService.findUserEntityById(userId);
-        List<UserResponseDTO> following = followRepository.findByFollower(user).stream()
-                .map(follow -> userService.mapUserToUserResponseDTO(follow.getFollowed()))
-                .collect(Collectors.toList());
+        List<UserResponseDTO> following;
+        if (followGraphIndex.isReady()) {
+            userService.ensureUserExists(userId);
+            following = mapUsers(followGraphIndex.getFollowing(userId));
+        } else {
+            User user = userService.findUserEntityById(userId);
+            following = followRepository.findByFollower(user).stream()
+                    .map(follow -> userService.mapUserToUserResponseDTO(follow.getFollowed()))
+                    .collect(Collectors.toList());
+        }
         logger.info("Usuário {} está seguindo {} usuários.", userId, following.size());
         return following;
     }
 
+    @Transactional(readOnly = true)
     public long countFollowers(Long userId) {
         logger.debug("Contando seguidores para o usuário {}.", userId);
-        User user = userService.findUserEntityById(userId);
-        long count = followRepository.countByFollowed(user);
+        long count;
+        if (followGraphIndex.isReady()) {
+            count = followGraphIndex.countFollowers(userId);
+            // Um usuário com relações certamente existe; só é preciso consultar o banco quando não há nenhuma.
+            if (count == 0) {
+                userService.ensureUserExists(userId);
+            }
+        } else {
+            count = followRepository.countByFollowed(userService.findUserEntityById(userId));
+        }
         logger.debug("Usuário {} tem {} seguidores.", userId, count);
         return count;
     }
 
+    @Transactional(readOnly = true)
     public long countFollowing(Long userId) {
         logger.debug("Contando quem o usuário {} está seguindo.", userId);
-        User user = userService.findUserEntityById(userId);
-        long count = followRepository.countByFollower(user);
+        long count;
+        if (followGraphIndex.isReady()) {
+            count = followGraphIndex.countFollowing(userId);
+            if (count == 0) {
+                userService.ensureUserExists(userId);
+            }
+        } else {
+            count = followRepository.countByFollower(userService.findUserEntityById(userId));
+        }
         logger.debug("Usuário {} está seguindo {} pessoas.", userId, count);
         return count;
     }
-}
\ No newline at end of file
+
+    @Transactional(readOnly = true)
+    public boolean isFollowing(Long followerId, Long followedId) {
+        logger.debug("Verificando se o usuário {} segue o usuário {}.", followerId, followedId);
+        if (followGraphIndex.isReady()) {
+            if (followGraphIndex.isFollowing(followerId, followedId)) {
+                return true;
+            }
+            // Uma relação existente prova que os dois existem; só a resposta negativa precisa consultar o banco.
+            userService.ensureUserExists(followerId);
+            userService.ensureUserExists(followedId);
+            return false;
+        }
+        User follower = userService.findUserEntityById(followerId);
+        User followed = userService.findUserEntityById(followedId);
+        return followRepository.existsByFollowerAndFollowed(follower, followed);
+    }
+
+    // Traduz a violação de chave estrangeira ou de unicidade para os mesmos erros das verificações prévias de antes.
+    private RuntimeException diagnoseFollowFailure(Long followerId, Long followedId, DataIntegrityViolationException cause) {
+        userService.ensureUserExists(followerId);
+        userService.ensureUserExists(followedId);
+        if (followRepository.existsByFollowerIdAndFollowedId(followerId, followedId)) {
+            logger.warn("Falha ao seguir: Usuário {} já está seguindo usuário {}.", followerId, followedId);
+            return new IllegalArgumentException("Você já está seguindo este usuário.");
+        }
+        return cause;
+    }
+
+    // Busca os usuários em lotes de USER_LOOKUP_BATCH e devolve na ordem do índice (crescente por ID), que o
+    // findAllById não garante.
+    private List<UserResponseDTO> mapUsers(long[] userIds) {
+        Map<Long, User> usersById = new HashMap<>(userIds.length * 2);
+        for (int from = 0; from < userIds.length; from += USER_LOOKUP_BATCH) {
+            int to = Math.min(userIds.length, from + USER_LOOKUP_BATCH);
+            List<Long> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                batch.add(userIds[i]);
+            }
+            for (User user : userService.findUserEntitiesByIds(batch)) {
+                usersById.put(user.getId(), user);
+            }
+        }
+        List<UserResponseDTO> users = new ArrayList<>(usersById.size());
+        for (long id : userIds) {
+            User user = usersById.get(id);
+            if (user != null) {
+                users.add(userService.mapUserToUserResponseDTO(user));
+            }
+        }
+        return users;
+    }
+}
@@ -0,0 +1,185 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.repository.PostRepository;
+import com.redesocial.rede_social_api.util.CacheStats;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+public class LikeCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeCounterService.class);
+
+    private static final String FLUSH_SQL = "update posts set like_count = like_count + ? where id = ?";
+    private static final String RECONCILE_SQL =
+            "update posts p set like_count = (select count(*) from likes l where l.post_id = p.id)";
+
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserCounterService userCounterService;
+    private final TransactionTemplate transactionTemplate;
+    private final int evictAfterIdleFlushes;
+    private final boolean reconcileOnStartup;
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final CacheStats cacheStats = new CacheStats();
+
+    @Autowired
+    public LikeCounterService(PostRepository postRepository, JdbcTemplate jdbcTemplate, UserCounterService userCounterService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${redesocial.likes.evict-after-idle-flushes:60}") int evictAfterIdleFlushes,
+                              @Value("${redesocial.likes.reconcile-on-startup:false}") boolean reconcileOnStartup) {
+        this.postRepository = postRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.userCounterService = userCounterService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.evictAfterIdleFlushes = evictAfterIdleFlushes;
+        this.reconcileOnStartup = reconcileOnStartup;
+        logger.info("LikeCounterService inicializado.");
+    }
+
+    // Recalcula like_count a partir da tabela likes (ex.: primeira subida após criar a coluna).
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (!reconcileOnStartup) {
+            return;
+        }
+        logger.info("Recalculando contadores de curtidas a partir da tabela likes.");
+        int updated = transactionTemplate.execute(status -> jdbcTemplate.update(RECONCILE_SQL));
+        logger.info("Contadores de curtidas recalculados para {} posts.", updated);
+    }
+
+    public CacheStats getCacheStats() {
+        return cacheStats;
+    }
+
+    public long getCount(long postId) {
+        return counter(postId).value.sum();
+    }
+
+    public void increment(long postId) {
+        add(postId, 1);
+    }
+
+    public void decrement(long postId) {
+        add(postId, -1);
+    }
+
+    // Grava as diferenças acumuladas em like_count com um único batch JDBC.
+    @Scheduled(fixedDelayString = "${redesocial.likes.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        // ReentrantLock em vez de synchronized: o batch JDBC bloqueia e não deve prender a carrier thread.
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<Object[]> updates = new ArrayList<>();
+        List<Counter> flushed = new ArrayList<>();
+        List<Long> totals = new ArrayList<>();
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            long total = counter.value.sum();
+            long delta = total - counter.persisted;
+            if (delta != 0) {
+                updates.add(new Object[]{delta, entry.getKey()});
+                flushed.add(counter);
+                totals.add(total);
+                counter.idleFlushes = 0;
+            } else if (++counter.idleFlushes >= evictAfterIdleFlushes) {
+                tryEvict(entry.getKey(), counter);
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        // As mesmas diferenças vão para o total de curtidas recebidas do autor, na mesma transação.
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, updates);
+            userCounterService.addLikesReceived(updates);
+        });
+        for (int i = 0; i < flushed.size(); i++) {
+            flushed.get(i).persisted = totals.get(i);
+        }
+        logger.debug("Contadores de curtidas gravados para {} posts.", updates.size());
+    }
+
+    private void add(long postId, long delta) {
+        while (true) {
+            Counter counter = counter(postId);
+            counter.value.add(delta);
+            if (!counter.retired) {
+                return;
+            }
+            // O contador foi aposentado durante a soma: desfaz e tenta no contador novo.
+            counter.value.add(-delta);
+            Thread.onSpinWait();
+        }
+    }
+
+    // A consulta fica fora do computeIfAbsent para não bloquear o bin do mapa durante I/O.
+    private Counter counter(long postId) {
+        Counter counter = counters.get(postId);
+        if (counter != null) {
+            cacheStats.recordHit();
+            return counter;
+        }
+        cacheStats.recordMiss();
+        // Do primário: um valor atrasado da réplica ficaria como base do contador até a entrada ser descartada.
+        long persisted = DataSourceRouting.onPrimary(() -> postRepository.findLikeCountById(postId))
+                .orElseThrow(() -> {
+                    logger.warn("Post não encontrado com ID: {}", postId);
+                    return new IllegalArgumentException("Post não encontrado com ID: " + postId);
+                });
+        Counter seeded = new Counter(persisted);
+        Counter existing = counters.putIfAbsent(postId, seeded);
+        return existing != null ? existing : seeded;
+    }
+
+    private void tryEvict(Long postId, Counter counter) {
+        counter.retired = true;
+        if (counter.value.sum() == counter.persisted) {
+            counters.remove(postId, counter);
+        } else {
+            counter.retired = false;
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder value = new LongAdder();
+        // Acessados apenas pela thread de flush.
+        private long persisted;
+        private int idleFlushes;
+        private volatile boolean retired;
+
+        private Counter(long persisted) {
+            this.value.add(persisted);
+            this.persisted = persisted;
+        }
+    }
+}
@@ -2,12 +2,21 @@ package com.redesocial.rede_social_api.service;
 
 import com.redesocial.rede_social_api.dto.LikeDTO;
 import com.redesocial.rede_social_api.model.Like;
-import com.redesocial.rede_social_api.model.Post;
-import com.redesocial.rede_social_api.model.User;
 import com.redesocial.rede_social_api.repository.LikeRepository;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import com.redesocial.rede_social_api.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,66 +26,110 @@ public class LikeService {
 
     private static final Logger logger = LoggerFactory.getLogger(LikeService.class);
 
+    public static final int MAX_STATUS_BATCH_SIZE = 100;
+
     private final LikeRepository likeRepository;
     private final UserService userService;
     private final PostService postService;
+    private final LikeCounterService likeCounterService;
+    private final TrendingService trendingService;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public LikeService(LikeRepository likeRepository, UserService userService, PostService postService) {
+    public LikeService(LikeRepository likeRepository, UserService userService, PostService postService,
+                       LikeCounterService likeCounterService, TrendingService trendingService,
+                       PlatformTransactionManager transactionManager) {
         this.likeRepository = likeRepository;
         this.userService = userService;
         this.postService = postService;
+        this.likeCounterService = likeCounterService;
+        this.trendingService = trendingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         logger.info("LikeService inicializado.");
     }
 
-    @Transactional
+    // Sem @Transactional: o diagnóstico de uma violação de constraint precisa de uma sessão nova, já que a sessão que
+    // falhou no flush não pode mais ser usada. As referências são criadas dentro da transação do insert; fora dela,
+    // cada getReferenceById abriria a sua própria transação somente leitura, com outra conexão do pool.
     public void likePost(LikeDTO likeDTO) {
         logger.info("Usuário {} tentando curtir o post {}", likeDTO.getUserId(), likeDTO.getPostId());
-        User user = userService.findUserEntityById(likeDTO.getUserId());
-        Post post = postService.findPostEntityById(likeDTO.getPostId());
-
-        if (likeRepository.existsByUserAndPost(user, post)) {
-            logger.warn("Falha ao curtir: Usuário {} já curtiu o post {}", likeDTO.getUserId(), likeDTO.getPostId());
-            throw new IllegalArgumentException("Você já curtiu este post.");
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Like like = new Like();
+                like.setUser(userService.getUserReference(likeDTO.getUserId()));
+                like.setPost(postService.getPostReference(likeDTO.getPostId()));
+                likeRepository.saveAndFlush(like);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw DataSourceRouting.onPrimary(() -> diagnoseLikeFailure(likeDTO, e));
         }
-
-        Like like = new Like();
-        like.setUser(user);
-        like.setPost(post);
-
-        likeRepository.save(like);
+        likeCounterService.increment(likeDTO.getPostId());
+        trendingService.recordLike(likeDTO.getPostId());
         logger.info("Usuário {} curtiu o post {} com sucesso.", likeDTO.getUserId(), likeDTO.getPostId());
     }
 
     @Transactional
     public void unlikePost(LikeDTO likeDTO) {
         logger.info("Usuário {} tentando descurtir o post {}", likeDTO.getUserId(), likeDTO.getPostId());
-        User user = userService.findUserEntityById(likeDTO.getUserId());
-        Post post = postService.findPostEntityById(likeDTO.getPostId());
-
-        if (!likeRepository.existsByUserAndPost(user, post)) {
+        if (likeRepository.deleteByUserIdAndPostId(likeDTO.getUserId(), likeDTO.getPostId()) == 0) {
+            userService.ensureUserExists(likeDTO.getUserId());
+            postService.findPostEntityById(likeDTO.getPostId());
             logger.warn("Falha ao descurtir: Usuário {} não curtiu o post {}", likeDTO.getUserId(), likeDTO.getPostId());
             throw new IllegalArgumentException("Você não curtiu este post.");
         }
 
-        likeRepository.deleteByUserAndPost(user, post);
+        TransactionHooks.afterCommit(() -> likeCounterService.decrement(likeDTO.getPostId()));
         logger.info("Usuário {} descurtiu o post {} com sucesso.", likeDTO.getUserId(), likeDTO.getPostId());
     }
 
     public long countLikesForPost(Long postId) {
         logger.debug("Contando curtidas para o post {}", postId);
-        Post post = postService.findPostEntityById(postId);
-        long count = likeRepository.countByPost(post);
+        long count = likeCounterService.getCount(postId);
         logger.debug("Post {} tem {} curtidas.", postId, count);
         return count;
     }
 
+    @Transactional(readOnly = true)
     public boolean hasUserLikedPost(Long userId, Long postId) {
         logger.debug("Verificando se o usuário {} curtiu o post {}", userId, postId);
-        User user = userService.findUserEntityById(userId);
-        Post post = postService.findPostEntityById(postId);
-        boolean hasLiked = likeRepository.existsByUserAndPost(user, post);
+        boolean hasLiked = likeRepository.existsByUserIdAndPostId(userId, postId);
+        if (!hasLiked) {
+            // Só valida a existência de usuário e post quando a resposta é negativa.
+            userService.ensureUserExists(userId);
+            postService.findPostEntityById(postId);
+        }
         logger.debug("Usuário {} {} curtiu o post {}", userId, hasLiked ? "já" : "não", postId);
         return hasLiked;
     }
+
+    // Traduz a violação de chave estrangeira ou de unicidade para os mesmos erros das verificações prévias de antes.
+    private RuntimeException diagnoseLikeFailure(LikeDTO likeDTO, DataIntegrityViolationException cause) {
+        userService.ensureUserExists(likeDTO.getUserId());
+        postService.findPostEntityById(likeDTO.getPostId());
+        if (likeRepository.existsByUserIdAndPostId(likeDTO.getUserId(), likeDTO.getPostId())) {
+            logger.warn("Falha ao curtir: Usuário {} já curtiu o post {}", likeDTO.getUserId(), likeDTO.getPostId());
+            return new IllegalArgumentException("Você já curtiu este post.");
+        }
+        return cause;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> getLikeStatus(Long userId, List<Long> postIds) {
+        logger.debug("Verificando curtidas do usuário {} em {} posts", userId, postIds.size());
+        if (postIds.size() > MAX_STATUS_BATCH_SIZE) {
+            logger.warn("Falha ao verificar curtidas: {} posts informados, máximo {}", postIds.size(), MAX_STATUS_BATCH_SIZE);
+            throw new IllegalArgumentException("É possível verificar no máximo " + MAX_STATUS_BATCH_SIZE + " posts por vez.");
+        }
+        userService.ensureUserExists(userId);
+
+        Map<Long, Boolean> status = new LinkedHashMap<>();
+        if (postIds.isEmpty()) {
+            return status;
+        }
+        Set<Long> liked = new HashSet<>(likeRepository.findLikedPostIdsAmong(userId, new HashSet<>(postIds)));
+        for (Long postId : postIds) {
+            status.put(postId, liked.contains(postId));
+        }
+        return status;
+    }
 }
\ No newline at end of file
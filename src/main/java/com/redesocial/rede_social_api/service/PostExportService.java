@@ -0,0 +1,73 @@
+package com.redesocial.rede_social_api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.redesocial.rede_social_api.model.Post;
+import com.redesocial.rede_social_api.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+public class PostExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostExportService.class);
+
+    // A cada lote o contexto de persistência é limpo e a saída é enviada ao cliente.
+    static final int BATCH_SIZE = 1000;
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    @Autowired
+    public PostExportService(PostRepository postRepository, PostService postService, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        logger.info("PostExportService inicializado.");
+    }
+
+    // Escreve todos os posts em NDJSON (um objeto JSON por linha) sem manter a lista em memória.
+    @Transactional(readOnly = true)
+    public long exportPosts(OutputStream out) {
+        logger.info("Iniciando exportação de posts em NDJSON.");
+        long start = System.currentTimeMillis();
+        long exported = 0;
+        try (Stream<Post> posts = postRepository.streamAllOrderById();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, postService.mapPostToPostResponseDTO(iterator.next()));
+                generator.writeRaw('\n');
+                if (++exported % BATCH_SIZE == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Exportação de posts interrompida após {} posts: {}", exported, e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Exportação concluída: {} posts em {} ms.", exported, System.currentTimeMillis() - start);
+        return exported;
+    }
+}
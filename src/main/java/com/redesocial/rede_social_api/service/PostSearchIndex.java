@@ -0,0 +1,370 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.SearchCursor;
+import com.redesocial.rede_social_api.repository.PostRepository;
+import com.redesocial.rede_social_api.repository.PostText;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import com.redesocial.rede_social_api.util.LongIntCounter;
+import com.redesocial.rede_social_api.util.PostingList;
+import com.redesocial.rede_social_api.util.TextTokenizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Índice invertido em memória sobre o conteúdo dos posts, com ranking BM25.
+// Cada versão indexada de um post recebe um número de documento sequencial (int): as listas de postings só crescem
+// no fim, as lacunas ficam pequenas e edições/remoções viram marcações em 'dead', limpas pela compactação.
+@Component
+public class PostSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndex.class);
+
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    private static final int SEGMENT_SIZE = 1_000;
+    private static final int MAX_QUERY_TERMS = 32;
+    private static final int MIN_DEAD_TO_COMPACT = 1_000;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Ordem crescente de relevância: o pior resultado fica no topo do heap de top-K.
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::getScore).thenComparingLong(Hit::getPostId);
+
+    private final PostRepository postRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, PostingList> postings = new HashMap<>();
+    private long[] docPostIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private int docCount;
+    private BitSet dead = new BitSet();
+    private int deadCount;
+    private long liveLength;
+    // ID do post -> número do documento + 1 (0 = não indexado).
+    private LongIntCounter docByPost = new LongIntCounter(1024);
+    // Posts removidos enquanto a reconstrução lê a tabela; a versão lida do banco deve ser descartada.
+    private Set<Long> removedDuringRebuild;
+    private volatile boolean ready;
+
+    public PostSearchIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+        logger.info("PostSearchIndex inicializado.");
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // A leitura é sequencial, mas a tokenização de cada página é dividida em segmentos montados em paralelo.
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        DataSourceRouting.onPrimary(this::load);
+    }
+
+    private void load() {
+        logger.info("Construindo índice de busca a partir da tabela posts.");
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            removedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long lastId = 0;
+        long posts = 0;
+        List<PostText> page;
+        do {
+            page = postRepository.findTextsAfter(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            List<List<PostText>> chunks = new ArrayList<>();
+            for (int from = 0; from < page.size(); from += SEGMENT_SIZE) {
+                chunks.add(page.subList(from, Math.min(from + SEGMENT_SIZE, page.size())));
+            }
+            List<Segment> segments = chunks.parallelStream().map(Segment::build).toList();
+            lock.writeLock().lock();
+            try {
+                segments.forEach(this::merge);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+            posts += page.size();
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            removedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice de busca construído com {} posts e {} termos em {} ms.", posts, termCount(), System.currentTimeMillis() - start);
+    }
+
+    public void index(long postId, String content) {
+        List<String> tokens = TextTokenizer.tokenize(content);
+        lock.writeLock().lock();
+        try {
+            removeDocument(postId);
+            addDocument(postId, tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(postId);
+            if (removedDuringRebuild != null) {
+                removedDuringRebuild.add(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Percorre as listas dos termos em paralelo (document-at-a-time), mantendo só os 'limit' melhores após o cursor.
+    public List<Hit> search(String query, SearchCursor after, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        lock.readLock().lock();
+        try {
+            int liveDocs = docCount - deadCount;
+            double averageLength = liveDocs == 0 ? 1.0 : Math.max(1.0, (double) liveLength / liveDocs);
+            List<PostingList.Cursor> cursors = new ArrayList<>();
+            List<Double> idfs = new ArrayList<>();
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                PostingList.Cursor cursor = list.cursor();
+                cursor.next();
+                cursors.add(cursor);
+                // A frequência inclui versões marcadas como removidas até a próxima compactação; a diferença é pequena.
+                idfs.add(Math.log(1 + (liveDocs - list.size() + 0.5) / (list.size() + 0.5)));
+                if (cursors.size() == MAX_QUERY_TERMS) {
+                    break;
+                }
+            }
+
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+            while (true) {
+                int doc = Integer.MAX_VALUE;
+                for (PostingList.Cursor cursor : cursors) {
+                    doc = Math.min(doc, cursor.doc());
+                }
+                if (doc == Integer.MAX_VALUE) {
+                    break;
+                }
+                double lengthNorm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                double score = 0;
+                for (int i = 0; i < cursors.size(); i++) {
+                    PostingList.Cursor cursor = cursors.get(i);
+                    if (cursor.doc() == doc) {
+                        score += idfs.get(i) * cursor.freq() * (K1 + 1) / (cursor.freq() + lengthNorm);
+                        cursor.next();
+                    }
+                }
+                if (dead.get(doc)) {
+                    continue;
+                }
+                Hit hit = new Hit(docPostIds[doc], score);
+                if (after != null && !isAfter(hit, after)) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(hit);
+                } else if (WORST_FIRST.compare(hit, best.peek()) > 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(WORST_FIRST.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Remove as versões marcadas e renumera os documentos quando elas passam de 1/4 do índice.
+    // Roda com o lock de escrita: buscas esperam enquanto as listas são regravadas.
+    @Scheduled(fixedDelayString = "${redesocial.search.compact-interval-ms:300000}")
+    public void compact() {
+        if (!ready || deadCount < MIN_DEAD_TO_COMPACT || deadCount * 4 < docCount) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int removed = deadCount;
+            int[] remap = new int[docCount];
+            int live = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                remap[doc] = dead.get(doc) ? -1 : live++;
+            }
+            long[] newPostIds = new long[Math.max(1024, live)];
+            int[] newLengths = new int[newPostIds.length];
+            LongIntCounter newDocByPost = new LongIntCounter(live);
+            for (int doc = 0; doc < docCount; doc++) {
+                if (remap[doc] >= 0) {
+                    newPostIds[remap[doc]] = docPostIds[doc];
+                    newLengths[remap[doc]] = docLengths[doc];
+                    newDocByPost.put(docPostIds[doc], remap[doc] + 1);
+                }
+            }
+            Map<String, PostingList> newPostings = new HashMap<>();
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                PostingList list = entry.getValue().remap(remap);
+                if (list.size() > 0) {
+                    newPostings.put(entry.getKey(), list);
+                }
+            }
+            postings = newPostings;
+            docPostIds = newPostIds;
+            docLengths = newLengths;
+            docByPost = newDocByPost;
+            docCount = live;
+            dead = new BitSet();
+            deadCount = 0;
+            logger.info("Índice de busca compactado: {} versões removidas, {} posts restantes.", removed, live);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isAfter(Hit hit, SearchCursor cursor) {
+        return hit.score < cursor.getScore() || (hit.score == cursor.getScore() && hit.postId < cursor.getId());
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addDocument(long postId, List<String> tokens) {
+        int doc = newDocument(postId, tokens.size());
+        docByPost.put(postId, doc + 1);
+        liveLength += tokens.size();
+        for (Map.Entry<String, Integer> term : countTerms(tokens).entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new PostingList()).add(doc, term.getValue());
+        }
+    }
+
+    private void removeDocument(long postId) {
+        int doc = docByPost.get(postId) - 1;
+        if (doc < 0) {
+            return;
+        }
+        docByPost.put(postId, 0);
+        dead.set(doc);
+        deadCount++;
+        liveLength -= docLengths[doc];
+    }
+
+    // Anexa um segmento da reconstrução; posts já indexados por escritas recentes ou removidos no meio-tempo são descartados.
+    private void merge(Segment segment) {
+        int base = docCount;
+        for (int i = 0; i < segment.postIds.length; i++) {
+            long postId = segment.postIds[i];
+            int doc = newDocument(postId, segment.lengths[i]);
+            if (docByPost.get(postId) != 0 || removedDuringRebuild.contains(postId)) {
+                dead.set(doc);
+                deadCount++;
+            } else {
+                docByPost.put(postId, doc + 1);
+                liveLength += segment.lengths[i];
+            }
+        }
+        for (Map.Entry<String, PostingList> term : segment.postings.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new PostingList()).append(term.getValue(), base);
+        }
+    }
+
+    private int newDocument(long postId, int length) {
+        if (docCount == docPostIds.length) {
+            docPostIds = Arrays.copyOf(docPostIds, docCount * 2);
+            docLengths = Arrays.copyOf(docLengths, docCount * 2);
+        }
+        docPostIds[docCount] = postId;
+        docLengths[docCount] = length;
+        return docCount++;
+    }
+
+    private static Map<String, Integer> countTerms(List<String> tokens) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    // Índice parcial de um trecho da tabela, com documentos numerados a partir de zero.
+    private static final class Segment {
+        private final long[] postIds;
+        private final int[] lengths;
+        private final Map<String, PostingList> postings = new HashMap<>();
+
+        private Segment(int size) {
+            this.postIds = new long[size];
+            this.lengths = new int[size];
+        }
+
+        private static Segment build(List<PostText> posts) {
+            Segment segment = new Segment(posts.size());
+            for (int doc = 0; doc < posts.size(); doc++) {
+                List<String> tokens = TextTokenizer.tokenize(posts.get(doc).getContent());
+                segment.postIds[doc] = posts.get(doc).getId();
+                segment.lengths[doc] = tokens.size();
+                for (Map.Entry<String, Integer> term : countTerms(tokens).entrySet()) {
+                    segment.postings.computeIfAbsent(term.getKey(), key -> new PostingList()).add(doc, term.getValue());
+                }
+            }
+            return segment;
+        }
+    }
+
+    public static final class Hit {
+        private final long postId;
+        private final double score;
+
+        public Hit(long postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+
+        public long getPostId() {
+            return postId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
@@ -2,13 +2,19 @@ package com.redesocial.rede_social_api.service;
 
 import com.redesocial.rede_social_api.dto.PostCreateDTO;
 import com.redesocial.rede_social_api.dto.PostResponseDTO;
+import com.redesocial.rede_social_api.dto.PostSearchResultDTO;
+import com.redesocial.rede_social_api.dto.SearchCursor;
 import com.redesocial.rede_social_api.model.Post;
 import com.redesocial.rede_social_api.model.User;
 import com.redesocial.rede_social_api.repository.PostRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.redesocial.rede_social_api.util.TransactionHooks;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.Optional;
 import java.time.LocalDateTime;
@@ -21,13 +27,27 @@ public class PostService {
 
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
 
+    public static final int MAX_SEARCH_LIMIT = 100;
+
     private final PostRepository postRepository;
     private final UserService userService;
+    private final TimelineService timelineService;
+    private final TrendingService trendingService;
+    private final PostSearchIndex postSearchIndex;
+    private final UserCounterService userCounterService;
+    private final ContentVersions contentVersions;
 
     @Autowired
-    public PostService(PostRepository postRepository, UserService userService) {
+    public PostService(PostRepository postRepository, UserService userService, TimelineService timelineService,
+                       TrendingService trendingService, PostSearchIndex postSearchIndex, UserCounterService userCounterService,
+                       ContentVersions contentVersions) {
         this.postRepository = postRepository;
         this.userService = userService;
+        this.timelineService = timelineService;
+        this.trendingService = trendingService;
+        this.postSearchIndex = postSearchIndex;
+        this.userCounterService = userCounterService;
+        this.contentVersions = contentVersions;
         logger.info("PostService inicializado.");
     }
 
@@ -41,10 +61,15 @@ public class PostService {
         post.setUser(user);
 
         Post savedPost = postRepository.save(post);
+        userCounterService.addPosts(userId, 1);
+        timelineService.onPostCreated(savedPost);
+        contentVersions.onPostCreated(userId);
+        TransactionHooks.afterCommit(() -> postSearchIndex.index(savedPost.getId(), savedPost.getContent()));
         logger.info("Post criado com sucesso pelo usuário {} (ID do Post: {}).", userId, savedPost.getId());
         return mapPostToPostResponseDTO(savedPost);
     }
 
+    @Transactional(readOnly = true)
     public List<PostResponseDTO> getAllPosts() {
         logger.info("Buscando todos os posts ordenados por data de criação.");
         List<PostResponseDTO> posts = postRepository.findAllByOrderByCreatedAtDesc().stream()
@@ -54,6 +79,63 @@ public class PostService {
         return posts;
     }
 
+    @Transactional(readOnly = true)
+    public List<PostResponseDTO> getTrendingPosts(int limit) {
+        logger.info("Buscando posts em alta (limite: {}).", limit);
+        List<Long> postIds = trendingService.getTrendingPostIds(limit);
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Post> postsById = postRepository.findAllWithUserByIdIn(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<PostResponseDTO> posts = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            Post post = postsById.get(postId);
+            if (post != null) {
+                posts.add(mapPostToPostResponseDTO(post));
+            }
+        }
+        logger.info("{} posts em alta encontrados.", posts.size());
+        return posts;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PostSearchResultDTO> searchPosts(String query, SearchCursor after, int limit) {
+        logger.info("Buscando posts com o termo '{}' (cursor: {}, limite: {}).", query, after, limit);
+        if (query == null || query.isBlank()) {
+            logger.warn("Falha na busca de posts: termo vazio.");
+            throw new IllegalArgumentException("O termo de busca não pode ser vazio.");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            logger.warn("Falha na busca de posts: limite inválido {}.", limit);
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_SEARCH_LIMIT + ".");
+        }
+        if (!postSearchIndex.isReady()) {
+            logger.warn("Índice de busca ainda em construção; nenhum resultado retornado.");
+            return new ArrayList<>();
+        }
+
+        List<PostSearchIndex.Hit> hits = postSearchIndex.search(query, after, limit);
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Post> postsById = postRepository.findAllWithUserByIdIn(hits.stream().map(PostSearchIndex.Hit::getPostId).toList())
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<PostSearchResultDTO> results = new ArrayList<>(hits.size());
+        for (PostSearchIndex.Hit hit : hits) {
+            Post post = postsById.get(hit.getPostId());
+            if (post != null) {
+                PostResponseDTO dto = mapPostToPostResponseDTO(post);
+                results.add(new PostSearchResultDTO(dto.getId(), dto.getContent(), dto.getUserId(), dto.getUsername(),
+                        dto.getCreatedAt(), hit.getScore()));
+            }
+        }
+        logger.info("{} posts encontrados para o termo '{}'.", results.size(), query);
+        return results;
+    }
+
+    @Transactional(readOnly = true)
     public PostResponseDTO getPostById(Long postId) {
         logger.info("Buscando post com ID: {}", postId);
         return postRepository.findById(postId)
@@ -73,6 +155,11 @@ public class PostService {
                 });
     }
 
+    // Proxy sem consulta ao banco, para usar como chave estrangeira em inserts.
+    public Post getPostReference(Long postId) {
+        return postRepository.getReferenceById(postId);
+    }
+
     @Transactional
     public PostResponseDTO updatePost(Long postId, PostCreateDTO updatedPostDTO, Long userId) {
         logger.info("Usuário {} tentando atualizar o post com ID: {}", userId, postId);
@@ -94,6 +181,8 @@ public class PostService {
 
         existingPost.setContent(updatedPostDTO.getContent());
         Post updatedPost = postRepository.save(existingPost);
+        TransactionHooks.afterCommit(() -> postSearchIndex.index(postId, updatedPost.getContent()));
+        contentVersions.onPostChanged(postId, userId);
         logger.info("Post {} atualizado com sucesso pelo usuário {}.", postId, userId);
         return mapPostToPostResponseDTO(updatedPost);
     }
@@ -109,9 +198,15 @@ public class PostService {
         }
 
         postRepository.delete(existingPost);
+        userCounterService.addPosts(userId, -1);
+        timelineService.onPostDeleted(existingPost);
+        contentVersions.onPostChanged(postId, userId);
+        TransactionHooks.afterCommit(() -> trendingService.remove(postId));
+        TransactionHooks.afterCommit(() -> postSearchIndex.remove(postId));
         logger.info("Post {} deletado com sucesso pelo usuário {}.", postId, userId);
     }
 
+    @Transactional(readOnly = true)
     public List<PostResponseDTO> getPostsByUserId(Long userId) {
         logger.info("Buscando posts para o usuário com ID: {}", userId);
         userService.findUserEntityById(userId);
@@ -122,7 +217,7 @@ public class PostService {
         return posts;
     }
 
-    private PostResponseDTO mapPostToPostResponseDTO(Post post) {
+    PostResponseDTO mapPostToPostResponseDTO(Post post) {
         logger.debug("Mapeando Post para PostResponseDTO para post ID: {}", post.getId());
         PostResponseDTO dto = new PostResponseDTO();
         dto.setId(post.getId());
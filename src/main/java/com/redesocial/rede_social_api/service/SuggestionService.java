@@ -0,0 +1,262 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.UserSuggestionDTO;
+import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.util.CacheStats;
+import com.redesocial.rede_social_api.util.LongArrays;
+import com.redesocial.rede_social_api.util.LongIntCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+public class SuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionService.class);
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    // Abaixo desse número de pessoas seguidas a contagem roda sequencialmente numa única tarefa.
+    static final int SPLIT_THRESHOLD = 64;
+
+    private final FollowGraphIndex followGraphIndex;
+    private final UserService userService;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<Long, CachedSuggestions> cache = new ConcurrentHashMap<>();
+    private final CacheStats cacheStats = new CacheStats();
+
+    @Autowired
+    public SuggestionService(FollowGraphIndex followGraphIndex, UserService userService,
+                             @Value("${redesocial.suggestions.cache-ttl-seconds:300}") long ttlSeconds) {
+        this.followGraphIndex = followGraphIndex;
+        this.userService = userService;
+        this.ttlMillis = ttlSeconds * 1000;
+        logger.info("SuggestionService inicializado (TTL do cache: {} s).", ttlSeconds);
+    }
+
+    public List<UserSuggestionDTO> getSuggestions(Long userId, int limit) {
+        logger.info("Buscando sugestões de usuários para o usuário {} (limite: {}).", userId, limit);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            logger.warn("Falha ao buscar sugestões: limite inválido {}.", limit);
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_LIMIT + ".");
+        }
+        userService.ensureUserExists(userId);
+        if (!followGraphIndex.isReady()) {
+            // Sem o índice em memória a alternativa seria um join amigos-de-amigos no banco, que não queremos fazer.
+            logger.warn("Índice do grafo de seguidores ainda não carregado; sugestões indisponíveis para o usuário {}.", userId);
+            return Collections.emptyList();
+        }
+
+        long now = System.currentTimeMillis();
+        CachedSuggestions cached = cache.get(userId);
+        if (cached == null || cached.expiresAt <= now) {
+            cacheStats.recordMiss();
+            cached = compute(userId, now);
+            cache.put(userId, cached);
+        } else {
+            cacheStats.recordHit();
+        }
+        return toDTOs(cached, limit);
+    }
+
+    public CacheStats getCacheStats() {
+        return cacheStats;
+    }
+
+    public void invalidate(Long userId) {
+        cache.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${redesocial.suggestions.cache-ttl-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cached -> cached.expiresAt <= now);
+    }
+
+    private CachedSuggestions compute(long userId, long now) {
+        long start = System.nanoTime();
+        long[] following = followGraphIndex.getFollowing(userId);
+        LongIntCounter mutuals = following.length <= SPLIT_THRESHOLD
+                ? new MutualCountTask(followGraphIndex, following, 0, following.length).compute()
+                : ForkJoinPool.commonPool().invoke(new MutualCountTask(followGraphIndex, following, 0, following.length));
+
+        TopK top = new TopK(MAX_LIMIT);
+        mutuals.forEach((candidateId, count) -> {
+            if (candidateId != userId && !LongArrays.contains(following, candidateId)) {
+                top.offer(candidateId, count);
+            }
+        });
+        CachedSuggestions result = top.toCached(now + ttlMillis);
+        logger.debug("Sugestões calculadas para o usuário {}: {} candidatos, {} pessoas seguidas, {} µs.",
+                userId, mutuals.size(), following.length, (System.nanoTime() - start) / 1000);
+        return result;
+    }
+
+    private List<UserSuggestionDTO> toDTOs(CachedSuggestions cached, int limit) {
+        int size = Math.min(limit, cached.userIds.length);
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(cached.userIds[i]);
+        }
+        Map<Long, User> users = userService.findUserEntitiesByIds(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<UserSuggestionDTO> suggestions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = users.get(cached.userIds[i]);
+            if (user != null) {
+                suggestions.add(new UserSuggestionDTO(user.getId(), user.getUsername(), cached.mutualCounts[i]));
+            }
+        }
+        return suggestions;
+    }
+
+    // Conta, para cada candidato, quantas das pessoas seguidas em [from, to) o seguem; divide o intervalo ao meio.
+    private static final class MutualCountTask extends RecursiveTask<LongIntCounter> {
+        private final FollowGraphIndex graph;
+        private final long[] following;
+        private final int from;
+        private final int to;
+
+        private MutualCountTask(FollowGraphIndex graph, long[] following, int from, int to) {
+            this.graph = graph;
+            this.following = following;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LongIntCounter compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                LongIntCounter counts = new LongIntCounter(256);
+                for (int i = from; i < to; i++) {
+                    for (long candidateId : graph.getFollowing(following[i])) {
+                        counts.add(candidateId, 1);
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            MutualCountTask left = new MutualCountTask(graph, following, from, middle);
+            left.fork();
+            LongIntCounter right = new MutualCountTask(graph, following, middle, to).compute();
+            LongIntCounter merged = left.join();
+            if (merged.size() < right.size()) {
+                right.addAll(merged);
+                return right;
+            }
+            merged.addAll(right);
+            return merged;
+        }
+    }
+
+    // Min-heap limitado de (contagem, id): a raiz é o pior candidato mantido, substituído quando chega um melhor.
+    private static final class TopK {
+        private final long[] ids;
+        private final int[] counts;
+        private int size;
+
+        private TopK(int capacity) {
+            this.ids = new long[capacity];
+            this.counts = new int[capacity];
+        }
+
+        private void offer(long id, int count) {
+            if (size < ids.length) {
+                ids[size] = id;
+                counts[size] = count;
+                siftUp(size++);
+            } else if (better(count, id, counts[0], ids[0])) {
+                ids[0] = id;
+                counts[0] = count;
+                siftDown(0);
+            }
+        }
+
+        // Mais conexões em comum primeiro; em empate, o menor ID, para o resultado ser estável entre cálculos.
+        private static boolean better(int count, long id, int otherCount, long otherId) {
+            return count > otherCount || (count == otherCount && id < otherId);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(counts[parent], ids[parent], counts[index], ids[index])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && better(counts[worst], ids[worst], counts[left], ids[left])) {
+                    worst = left;
+                }
+                if (right < size && better(counts[worst], ids[worst], counts[right], ids[right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            int count = counts[a];
+            counts[a] = counts[b];
+            counts[b] = count;
+        }
+
+        // Esvazia o heap do pior para o melhor, preenchendo o resultado de trás para frente.
+        private CachedSuggestions toCached(long expiresAt) {
+            long[] sortedIds = new long[size];
+            int[] sortedCounts = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                sortedIds[i] = ids[0];
+                sortedCounts[i] = counts[0];
+                size--;
+                swap(0, size);
+                siftDown(0);
+            }
+            return new CachedSuggestions(sortedIds, sortedCounts, expiresAt);
+        }
+    }
+
+    private static final class CachedSuggestions {
+        private final long[] userIds;
+        private final int[] mutualCounts;
+        private final long expiresAt;
+
+        private CachedSuggestions(long[] userIds, int[] mutualCounts, long expiresAt) {
+            this.userIds = userIds;
+            this.mutualCounts = mutualCounts;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
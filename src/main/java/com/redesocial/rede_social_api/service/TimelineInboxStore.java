@@ -0,0 +1,203 @@
+package com.redesocial.rede_social_api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Inboxes ficam em memória só para quem lê a timeline: as ociosas por mais de idle-minutes são descartadas por uma
+// varredura periódica, e acima de max-inboxes novos leitores são atendidos direto pelo banco.
+@Component
+public class TimelineInboxStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimelineInboxStore.class);
+
+    // Tamanho inicial do array de uma inbox; cresce sob demanda até a capacidade.
+    private static final int INITIAL_INBOX_SIZE = 16;
+
+    private final int capacity;
+    private final int maxInboxes;
+    private final long idleMillis;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<Long, Inbox> inboxes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TimelineInboxStore(@Value("${redesocial.timeline.inbox-capacity:800}") int capacity,
+                              @Value("${redesocial.timeline.max-inboxes:50000}") int maxInboxes,
+                              @Value("${redesocial.timeline.inbox-idle-minutes:30}") long idleMinutes) {
+        this(capacity, maxInboxes, idleMinutes, System::currentTimeMillis);
+    }
+
+    TimelineInboxStore(int capacity, int maxInboxes, long idleMinutes, LongSupplier clock) {
+        this.capacity = capacity;
+        this.maxInboxes = maxInboxes;
+        this.idleMillis = idleMinutes * 60_000;
+        this.clock = clock;
+        logger.info("TimelineInboxStore inicializado com capacidade de {} posts por usuário e até {} inboxes.", capacity, maxInboxes);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Retorna os IDs da inbox do usuário, do mais recente para o mais antigo,
+     * ou {@code null} se a inbox ainda não foi materializada.
+     */
+    public Snapshot read(long userId) {
+        Inbox inbox = inboxes.get(userId);
+        if (inbox == null) {
+            return null;
+        }
+        inbox.lastRead = clock.getAsLong();
+        return inbox.snapshot();
+    }
+
+    public int size() {
+        return inboxes.size();
+    }
+
+    /**
+     * Abre a materialização da inbox. Posts publicados enquanto a consulta ao banco
+     * está em andamento são guardados e mesclados em {@link #complete(long, long[])}.
+     * Retorna {@code false} se o limite de inboxes foi atingido; nesse caso a timeline deve ir ao banco.
+     */
+    public boolean beginMaterialization(long userId) {
+        if (!inboxes.containsKey(userId) && inboxes.size() >= maxInboxes) {
+            logger.debug("Limite de {} inboxes atingido; timeline do usuário {} não será materializada.", maxInboxes, userId);
+            return false;
+        }
+        inboxes.computeIfAbsent(userId, id -> new Inbox(capacity, clock.getAsLong()));
+        return true;
+    }
+
+    public void complete(long userId, long[] postIdsNewestFirst) {
+        Inbox inbox = inboxes.get(userId);
+        if (inbox != null) {
+            inbox.complete(postIdsNewestFirst, postIdsNewestFirst.length >= capacity);
+        }
+    }
+
+    public void push(long userId, long postId) {
+        Inbox inbox = inboxes.get(userId);
+        if (inbox != null) {
+            inbox.add(postId);
+        }
+    }
+
+    public void remove(long userId, long postId) {
+        Inbox inbox = inboxes.get(userId);
+        if (inbox != null) {
+            inbox.remove(postId);
+        }
+    }
+
+    public void invalidate(long userId) {
+        inboxes.remove(userId);
+    }
+
+    // Descarta as inboxes não lidas há mais de idle-minutes; a próxima leitura do usuário materializa de novo.
+    @Scheduled(fixedDelayString = "${redesocial.timeline.inbox-sweep-ms:60000}")
+    public void evictIdle() {
+        long cutoff = clock.getAsLong() - idleMillis;
+        int before = inboxes.size();
+        inboxes.values().removeIf(inbox -> inbox.lastRead < cutoff);
+        int evicted = before - inboxes.size();
+        if (evicted > 0) {
+            logger.debug("{} inboxes ociosas descartadas; {} restantes.", evicted, inboxes.size());
+        }
+    }
+
+    public static final class Snapshot {
+        private final long[] postIds;
+        private final boolean truncated;
+
+        private Snapshot(long[] postIds, boolean truncated) {
+            this.postIds = postIds;
+            this.truncated = truncated;
+        }
+
+        public long[] getPostIds() {
+            return postIds;
+        }
+
+        // Indica que existem posts mais antigos fora da inbox, que precisam ser lidos do banco.
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    // IDs mantidos em ordem crescente; o post mais antigo é descartado quando a capacidade é atingida.
+    private static final class Inbox {
+        private final int capacity;
+        private long[] ids;
+        private int size;
+        private boolean ready;
+        private boolean truncated;
+        private volatile long lastRead;
+
+        private Inbox(int capacity, long now) {
+            this.capacity = capacity;
+            this.ids = new long[Math.min(capacity, INITIAL_INBOX_SIZE)];
+            this.lastRead = now;
+        }
+
+        private synchronized Snapshot snapshot() {
+            if (!ready) {
+                return null;
+            }
+            long[] result = new long[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = ids[size - 1 - i];
+            }
+            return new Snapshot(result, truncated);
+        }
+
+        private synchronized void complete(long[] postIdsNewestFirst, boolean hasOlderPosts) {
+            for (long postId : postIdsNewestFirst) {
+                add(postId);
+            }
+            truncated |= hasOlderPosts;
+            ready = true;
+        }
+
+        private synchronized void add(long postId) {
+            int pos = Arrays.binarySearch(ids, 0, size, postId);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (size == capacity) {
+                truncated = true;
+                if (insertAt == 0) {
+                    return;
+                }
+                System.arraycopy(ids, 1, ids, 0, insertAt - 1);
+                ids[insertAt - 1] = postId;
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.min(capacity, ids.length * 2));
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = postId;
+            size++;
+        }
+
+        private synchronized void remove(long postId) {
+            int pos = Arrays.binarySearch(ids, 0, size, postId);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+    }
+}
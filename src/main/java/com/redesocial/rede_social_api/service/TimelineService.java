@@ -1,17 +1,31 @@
 package com.redesocial.rede_social_api.service;
 
+import com.redesocial.rede_social_api.dto.KeysetCursor;
 import com.redesocial.rede_social_api.dto.PostResponseDTO;
 import com.redesocial.rede_social_api.repository.FollowRepository;
 import com.redesocial.rede_social_api.repository.PostRepository;
 import com.redesocial.rede_social_api.repository.UserRepository;
-import com.redesocial.rede_social_api.model.User;
 import com.redesocial.rede_social_api.model.Post;
-import com.redesocial.rede_social_api.model.Follow;
+import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.util.CacheStats;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import com.redesocial.rede_social_api.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,46 +35,305 @@ public class TimelineService {
 
     private static final Logger logger = LoggerFactory.getLogger(TimelineService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Comparator<PostResponseDTO> NEWEST_FIRST = Comparator
+            .comparing(PostResponseDTO::getCreatedAt)
+            .thenComparing(PostResponseDTO::getId)
+            .reversed();
+
     private final PostRepository postRepository;
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
+    private final TimelineInboxStore inboxStore;
+    private final FollowGraphIndex followGraphIndex;
+    private final boolean fanoutEnabled;
+    private final long pullThreshold;
+    // Contas com mais seguidores que o limite: seus posts são lidos na hora em vez de distribuídos.
+    private final Set<Long> pullAccounts = ConcurrentHashMap.newKeySet();
+    private final CacheStats inboxCacheStats = new CacheStats();
 
     @Autowired
-    public TimelineService(PostRepository postRepository, FollowRepository followRepository, UserRepository userRepository) {
+    public TimelineService(PostRepository postRepository, FollowRepository followRepository, UserRepository userRepository,
+                           TimelineInboxStore inboxStore, FollowGraphIndex followGraphIndex,
+                           @Value("${redesocial.timeline.fanout-enabled:true}") boolean fanoutEnabled,
+                           @Value("${redesocial.timeline.pull-threshold:10000}") long pullThreshold) {
         this.postRepository = postRepository;
         this.followRepository = followRepository;
         this.userRepository = userRepository;
-        logger.info("TimelineService inicializado.");
+        this.inboxStore = inboxStore;
+        this.followGraphIndex = followGraphIndex;
+        this.fanoutEnabled = fanoutEnabled;
+        this.pullThreshold = pullThreshold;
+        logger.info("TimelineService inicializado (fan-out na escrita: {}, limite para leitura na hora: {} seguidores).",
+                fanoutEnabled, pullThreshold);
+    }
+
+    public CacheStats getInboxCacheStats() {
+        return inboxCacheStats;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPullAccounts() {
+        if (!fanoutEnabled) {
+            return;
+        }
+        pullAccounts.addAll(followRepository.findFollowedIdsWithMoreFollowersThan(pullThreshold));
+        logger.info("{} contas com mais de {} seguidores terão posts lidos na hora.", pullAccounts.size(), pullThreshold);
     }
 
     public List<PostResponseDTO> getUserTimeline(Long userId) {
-        logger.info("Buscando timeline para o usuário com ID: {}", userId);
-        User currentUser = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.warn("Falha ao buscar timeline: Usuário não encontrado com ID: {}", userId);
-                    return new RuntimeException("User not found with ID: " + userId);
-                });
-
-        List<Long> followedUserIds = followRepository.findByFollower(currentUser)
-                .stream()
-                .map(Follow::getFollowed)
-                .map(User::getId)
-                .collect(Collectors.toList());
-        logger.debug("Usuário {} segue {} usuários.", userId, followedUserIds.size());
-
-        followedUserIds.add(userId);
-        logger.debug("Incluindo posts do próprio usuário {} na timeline. Total de IDs para buscar: {}", userId, followedUserIds.size());
-
-        List<Post> timelinePosts = postRepository.findByUserIdIn(followedUserIds);
-        logger.info("Encontrados {} posts para a timeline do usuário {}.", timelinePosts.size(), userId);
-
-        return timelinePosts.stream()
-                .map(this::convertToPostResponseDTO)
-                .sorted(Comparator.comparing(PostResponseDTO::getCreatedAt).reversed())
-                .collect(Collectors.toList());
+        return getUserTimeline(userId, null, DEFAULT_PAGE_SIZE);
+    }
+
+    public List<PostResponseDTO> getUserTimeline(Long userId, KeysetCursor before, int limit) {
+        logger.info("Buscando timeline para o usuário com ID: {} (cursor: {}, limite: {})", userId, before, limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            logger.warn("Falha ao buscar timeline: limite inválido {}.", limit);
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+        if (!userRepository.existsById(userId)) {
+            logger.warn("Falha ao buscar timeline: Usuário não encontrado com ID: {}", userId);
+            throw new RuntimeException("User not found with ID: " + userId);
+        }
+
+        if (fanoutEnabled) {
+            List<PostResponseDTO> page = readFromInbox(userId, before, limit);
+            if (page != null) {
+                List<PostResponseDTO> timeline = mergeWithPulledAccounts(userId, page, before, limit);
+                logger.info("Encontrados {} posts na inbox da timeline do usuário {}.", timeline.size(), userId);
+                return timeline;
+            }
+        }
+
+        List<Long> authorIds = findTimelineAuthorIds(userId);
+        PageRequest pageRequest = PageRequest.of(0, limit);
+        List<Post> posts = before == null
+                ? postRepository.findTimelinePage(authorIds, pageRequest)
+                : postRepository.findTimelinePageBefore(authorIds, before.getCreatedAt(), before.getId(), pageRequest);
+        logger.info("Encontrados {} posts para a timeline do usuário {}.", posts.size(), userId);
+
+        List<PostResponseDTO> timeline = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            timeline.add(convertToPostResponseDTO(post));
+        }
+        return timeline;
+    }
+
+    public void onPostCreated(Post post) {
+        if (!fanoutEnabled) {
+            return;
+        }
+        Long authorId = post.getUser().getId();
+        Long postId = post.getId();
+        User author = post.getUser();
+        TransactionHooks.afterCommit(() -> {
+            inboxStore.push(authorId, postId);
+            long followerCount = followGraphIndex.isReady()
+                    ? followGraphIndex.countFollowers(authorId)
+                    : followRepository.countByFollowed(author);
+            if (followerCount > pullThreshold) {
+                if (pullAccounts.add(authorId)) {
+                    logger.info("Usuário {} ultrapassou {} seguidores; seus posts passam a ser lidos na hora.", authorId, pullThreshold);
+                }
+                return;
+            }
+
+            List<Long> followerIds = findFollowerIds(authorId);
+            if (pullAccounts.remove(authorId)) {
+                // As inboxes dos seguidores não têm os posts antigos desta conta; serão rematerializadas.
+                logger.info("Usuário {} voltou a ter até {} seguidores; seus posts voltam a ser distribuídos.", authorId, pullThreshold);
+                followerIds.forEach(inboxStore::invalidate);
+                return;
+            }
+            for (Long followerId : followerIds) {
+                inboxStore.push(followerId, postId);
+            }
+            logger.debug("Post {} distribuído para {} inboxes.", postId, followerIds.size() + 1);
+        });
+    }
+
+    public void onPostDeleted(Post post) {
+        if (!fanoutEnabled) {
+            return;
+        }
+        Long authorId = post.getUser().getId();
+        Long postId = post.getId();
+        TransactionHooks.afterCommit(() -> {
+            inboxStore.remove(authorId, postId);
+            if (pullAccounts.contains(authorId)) {
+                return;
+            }
+            for (Long followerId : findFollowerIds(authorId)) {
+                inboxStore.remove(followerId, postId);
+            }
+            logger.debug("Post {} removido das inboxes.", postId);
+        });
+    }
+
+    public void onFollowingChanged(Long followerId) {
+        if (!fanoutEnabled) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> inboxStore.invalidate(followerId));
+    }
+
+    // Retorna null quando a página não pode ser atendida só pela inbox e precisa ir ao banco.
+    private List<PostResponseDTO> readFromInbox(Long userId, KeysetCursor before, int limit) {
+        TimelineInboxStore.Snapshot snapshot = inboxStore.read(userId);
+        if (snapshot != null) {
+            inboxCacheStats.recordHit();
+        } else {
+            inboxCacheStats.recordMiss();
+            snapshot = materializeInbox(userId);
+            if (snapshot == null) {
+                return null;
+            }
+        }
+
+        long[] postIds = snapshot.getPostIds();
+        int start = 0;
+        if (before != null) {
+            while (start < postIds.length && postIds[start] >= before.getId()) {
+                start++;
+            }
+        }
+        int end = Math.min(postIds.length, start + limit);
+        if (end - start < limit && snapshot.isTruncated()) {
+            return null;
+        }
+
+        List<Long> ids = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            ids.add(postIds[i]);
+        }
+        Map<Long, Post> postsById = new HashMap<>();
+        for (Post post : postRepository.findAllById(ids)) {
+            postsById.put(post.getId(), post);
+        }
+
+        List<PostResponseDTO> page = new ArrayList<>(ids.size());
+        for (Long postId : ids) {
+            Post post = postsById.get(postId);
+            if (post != null) {
+                page.add(convertToPostResponseDTO(post));
+            }
+        }
+        return page;
+    }
+
+    private TimelineInboxStore.Snapshot materializeInbox(Long userId) {
+        logger.debug("Materializando inbox da timeline do usuário {}.", userId);
+        if (!inboxStore.beginMaterialization(userId)) {
+            return null;
+        }
+        // A inbox passa a receber os posts por fan-out; os que ainda não chegaram à réplica se perderiam.
+        DataSourceRouting.onPrimary(() -> {
+            List<Long> authorIds = findTimelineAuthorIds(userId);
+            authorIds.removeIf(authorId -> !authorId.equals(userId) && pullAccounts.contains(authorId));
+            List<Long> recentIds = postRepository.findRecentIdsByUserIdIn(authorIds, PageRequest.of(0, inboxStore.getCapacity()));
+            long[] postIds = new long[recentIds.size()];
+            for (int i = 0; i < postIds.length; i++) {
+                postIds[i] = recentIds.get(i);
+            }
+            inboxStore.complete(userId, postIds);
+        });
+        return inboxStore.read(userId);
+    }
+
+    private List<PostResponseDTO> mergeWithPulledAccounts(Long userId, List<PostResponseDTO> pushed, KeysetCursor before, int limit) {
+        if (pullAccounts.isEmpty()) {
+            return pushed;
+        }
+        List<Long> pulledAuthorIds;
+        if (followGraphIndex.isReady()) {
+            pulledAuthorIds = new ArrayList<>();
+            for (Long authorId : pullAccounts) {
+                if (followGraphIndex.isFollowing(userId, authorId)) {
+                    pulledAuthorIds.add(authorId);
+                }
+            }
+        } else {
+            pulledAuthorIds = followRepository.findFollowedIdsAmong(userId, new ArrayList<>(pullAccounts));
+        }
+        if (pulledAuthorIds.isEmpty()) {
+            return pushed;
+        }
+        logger.debug("Mesclando posts de {} contas lidas na hora na timeline do usuário {}.", pulledAuthorIds.size(), userId);
+
+        List<List<PostResponseDTO>> sources = new ArrayList<>(pulledAuthorIds.size() + 1);
+        sources.add(pushed);
+        PageRequest pageRequest = PageRequest.of(0, limit);
+        for (Long authorId : pulledAuthorIds) {
+            List<Post> posts = before == null
+                    ? postRepository.findTimelinePage(List.of(authorId), pageRequest)
+                    : postRepository.findTimelinePageBefore(List.of(authorId), before.getCreatedAt(), before.getId(), pageRequest);
+            List<PostResponseDTO> source = new ArrayList<>(posts.size());
+            for (Post post : posts) {
+                source.add(convertToPostResponseDTO(post));
+            }
+            sources.add(source);
+        }
+        return mergeNewestFirst(sources, limit);
+    }
+
+    // Merge k-way de listas já ordenadas do mais recente para o mais antigo.
+    static List<PostResponseDTO> mergeNewestFirst(List<List<PostResponseDTO>> sources, int limit) {
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                (a, b) -> NEWEST_FIRST.compare(sources.get(a[0]).get(a[1]), sources.get(b[0]).get(b[1])));
+        for (int i = 0; i < sources.size(); i++) {
+            if (!sources.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+
+        List<PostResponseDTO> merged = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            int[] head = heads.poll();
+            List<PostResponseDTO> source = sources.get(head[0]);
+            PostResponseDTO post = source.get(head[1]);
+            if (seen.add(post.getId())) {
+                merged.add(post);
+            }
+            if (head[1] + 1 < source.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return merged;
+    }
+
+    private List<Long> findTimelineAuthorIds(Long userId) {
+        List<Long> authorIds;
+        if (followGraphIndex.isReady()) {
+            long[] following = followGraphIndex.getFollowing(userId);
+            authorIds = new ArrayList<>(following.length + 1);
+            for (long followedId : following) {
+                authorIds.add(followedId);
+            }
+        } else {
+            authorIds = new ArrayList<>(followRepository.findFollowedIdsByFollowerId(userId));
+        }
+        logger.debug("Usuário {} segue {} usuários.", userId, authorIds.size());
+        authorIds.add(userId);
+        return authorIds;
+    }
+
+    private List<Long> findFollowerIds(Long authorId) {
+        if (!followGraphIndex.isReady()) {
+            return followRepository.findFollowerIdsByFollowedId(authorId);
+        }
+        long[] followers = followGraphIndex.getFollowers(authorId);
+        List<Long> followerIds = new ArrayList<>(followers.length);
+        for (long followerId : followers) {
+            followerIds.add(followerId);
+        }
+        return followerIds;
     }
 
-    private PostResponseDTO convertToPostResponseDTO(Post post) {
+    PostResponseDTO convertToPostResponseDTO(Post post) {
         logger.debug("Mapeando Post para PostResponseDTO para post ID: {}", post.getId());
         return new PostResponseDTO(
                 post.getId(),
@@ -70,4 +343,4 @@ public class TimelineService {
                 post.getCreatedAt()
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,220 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.repository.CommentRepository;
+import com.redesocial.rede_social_api.repository.EngagementEvent;
+import com.redesocial.rede_social_api.repository.LikeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    public static final int MAX_LIMIT = 100;
+
+    // Posts cujo score decaído cai abaixo disso (um décimo de curtida) saem da janela.
+    private static final double MIN_SCORE = 0.1;
+    // Renormaliza antes que exp((agora - marco) / tau) fique grande demais para um double com folga.
+    private static final double MAX_EXPONENT = 30.0;
+
+    private static final Comparator<Entry> BY_SCORE = Comparator.<Entry>comparingDouble(entry -> entry.score)
+            .thenComparing(entry -> entry.postId, Comparator.reverseOrder());
+
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final double tauMillis;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final LongSupplier clock;
+
+    // Scores são guardados relativos ao marco (landmark): peso * exp((t - marco) / tau). Como o decaimento é igual
+    // para todos, a ordem entre scores guardados é a mesma dos scores decaídos e nada precisa ser atualizado com o tempo.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private TreeSet<Entry> top = new TreeSet<>(BY_SCORE);
+    private long landmark;
+
+    @Autowired
+    public TrendingService(LikeRepository likeRepository, CommentRepository commentRepository,
+                           @Value("${redesocial.trending.half-life-minutes:360}") long halfLifeMinutes,
+                           @Value("${redesocial.trending.like-weight:1.0}") double likeWeight,
+                           @Value("${redesocial.trending.comment-weight:3.0}") double commentWeight) {
+        this(likeRepository, commentRepository, halfLifeMinutes, likeWeight, commentWeight, System::currentTimeMillis);
+    }
+
+    TrendingService(LikeRepository likeRepository, CommentRepository commentRepository, long halfLifeMinutes,
+                    double likeWeight, double commentWeight, LongSupplier clock) {
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.tauMillis = halfLifeMinutes * 60_000.0 / Math.log(2);
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.clock = clock;
+        this.landmark = clock.getAsLong();
+        logger.info("TrendingService inicializado (meia-vida: {} min).", halfLifeMinutes);
+    }
+
+    // Reconstrói os scores a partir de curtidas e comentários recentes; depois disso, só eventos alimentam o ranking.
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        long now = clock.getAsLong();
+        // Eventos mais antigos que isso já teriam decaído abaixo de MIN_SCORE.
+        long windowMillis = (long) (tauMillis * Math.log(Math.max(likeWeight, commentWeight) / MIN_SCORE));
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(now - windowMillis), ZoneId.systemDefault());
+        logger.info("Carregando ranking de posts em alta a partir de {}.", since);
+        long events = 0;
+        try (Stream<EngagementEvent> likes = likeRepository.streamEventsSince(since)) {
+            events += replay(likes, likeWeight);
+        }
+        try (Stream<EngagementEvent> comments = commentRepository.streamEventsSince(since)) {
+            events += replay(comments, commentWeight);
+        }
+        logger.info("Ranking de posts em alta carregado com {} eventos.", events);
+    }
+
+    public void recordLike(long postId) {
+        record(postId, likeWeight, clock.getAsLong());
+    }
+
+    public void recordComment(long postId) {
+        record(postId, commentWeight, clock.getAsLong());
+    }
+
+    public void remove(long postId) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(postId);
+            if (entry != null && top.remove(entry)) {
+                promoteBest();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // O(K): copia os melhores IDs já ordenados, sem varrer os demais posts.
+    public List<Long> getTrendingPostIds(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            logger.warn("Falha ao buscar posts em alta: limite inválido {}.", limit);
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_LIMIT + ".");
+        }
+        lock.lock();
+        try {
+            List<Long> ids = new ArrayList<>(Math.min(limit, top.size()));
+            Iterator<Entry> iterator = top.descendingIterator();
+            while (iterator.hasNext() && ids.size() < limit) {
+                ids.add(iterator.next().postId);
+            }
+            return ids;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Renormaliza os scores para o marco atual e descarta posts que já decaíram abaixo do mínimo.
+    @Scheduled(fixedDelayString = "${redesocial.trending.prune-interval-ms:60000}")
+    public void prune() {
+        lock.lock();
+        try {
+            int before = entries.size();
+            renormalize(clock.getAsLong());
+            entries.values().removeIf(entry -> entry.score < MIN_SCORE);
+            top.removeIf(entry -> entry.score < MIN_SCORE);
+            if (entries.size() < before) {
+                logger.debug("{} posts saíram do ranking de posts em alta.", before - entries.size());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long replay(Stream<EngagementEvent> events, double weight) {
+        long[] count = {0};
+        events.forEach(event -> {
+            long time = event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            record(event.getPostId(), weight, time);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private void record(long postId, double weight, long time) {
+        lock.lock();
+        try {
+            if ((time - landmark) / tauMillis > MAX_EXPONENT) {
+                renormalize(time);
+            }
+            Entry entry = entries.computeIfAbsent(postId, Entry::new);
+            boolean wasTop = top.remove(entry);
+            entry.score += weight * Math.exp((time - landmark) / tauMillis);
+            if (wasTop || top.size() < MAX_LIMIT) {
+                top.add(entry);
+            } else if (BY_SCORE.compare(entry, top.first()) > 0) {
+                top.pollFirst();
+                top.add(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void renormalize(long now) {
+        double factor = Math.exp(-(now - landmark) / tauMillis);
+        for (Entry entry : entries.values()) {
+            entry.score *= factor;
+        }
+        // A escala é uniforme, mas arredondamentos podem criar empates: reconstrói o TreeSet em vez de confiar nele.
+        TreeSet<Entry> rescaled = new TreeSet<>(BY_SCORE);
+        rescaled.addAll(top);
+        top = rescaled;
+        landmark = now;
+    }
+
+    // Após remover um post do top, o melhor post fora dele ocupa a vaga (remoções são raras; a varredura é aceitável).
+    private void promoteBest() {
+        Entry best = null;
+        for (Entry entry : entries.values()) {
+            if (!top.contains(entry) && (best == null || BY_SCORE.compare(entry, best) > 0)) {
+                best = entry;
+            }
+        }
+        if (best != null) {
+            top.add(best);
+        }
+    }
+
+    private static final class Entry {
+        private final long postId;
+        private double score;
+
+        private Entry(long postId) {
+            this.postId = postId;
+        }
+    }
+}
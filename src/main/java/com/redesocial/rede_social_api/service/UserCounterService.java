@@ -0,0 +1,151 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.model.UserCounters;
+import com.redesocial.rede_social_api.repository.UserCountersRepository;
+import com.redesocial.rede_social_api.repository.UserRepository;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Mantém a tabela user_counters. Os incrementos rodam na transação de quem chama, junto com a escrita que os causou;
+// a reconciliação periódica recalcula tudo a partir das tabelas de origem e corrige qualquer desvio.
+@Service
+public class UserCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCounterService.class);
+
+    private static final int RECONCILE_PAGE_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "insert into user_counters (user_id, followers, following, posts, likes_received) values (?, 0, 0, 0, 0)";
+    private static final String DELETE_SQL = "delete from user_counters where user_id = ?";
+    // Uma instrução para as duas linhas: o InnoDB as bloqueia em ordem de chave, então follows cruzados (A->B e B->A)
+    // não entram em deadlock.
+    private static final String FOLLOW_SQL = "update user_counters set "
+            + "following = following + case when user_id = ? then ? else 0 end, "
+            + "followers = followers + case when user_id = ? then ? else 0 end "
+            + "where user_id in (?, ?)";
+    private static final String FOLLOW_BATCH_SQL =
+            "update user_counters set following = following + ?, followers = followers + ? where user_id = ?";
+    private static final String POSTS_SQL = "update user_counters set posts = posts + ? where user_id = ?";
+    private static final String LIKES_RECEIVED_SQL =
+            "update user_counters set likes_received = likes_received + ? where user_id = (select p.user_id from posts p where p.id = ?)";
+    private static final String INSERT_MISSING_SQL =
+            "insert into user_counters (user_id, followers, following, posts, likes_received) "
+            + "select u.id, 0, 0, 0, 0 from users u where u.id between ? and ? "
+            + "and not exists (select 1 from user_counters c where c.user_id = u.id)";
+    // likes_received vem de posts.like_count e não da tabela likes: as curtidas ainda no buffer do LikeCounterService já
+    // estão em likes, mas só chegam a like_count e a likes_received juntas no próximo flush, que as somaria de novo.
+    private static final String RECONCILE_SQL = "update user_counters c set "
+            + "followers = (select count(*) from follows f where f.followed_id = c.user_id), "
+            + "following = (select count(*) from follows f where f.follower_id = c.user_id), "
+            + "posts = (select count(*) from posts p where p.user_id = c.user_id), "
+            + "likes_received = (select coalesce(sum(p.like_count), 0) from posts p where p.user_id = c.user_id) "
+            + "where c.user_id between ? and ?";
+
+    private final UserRepository userRepository;
+    private final UserCountersRepository userCountersRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+
+    @Autowired
+    public UserCounterService(UserRepository userRepository, UserCountersRepository userCountersRepository, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userCountersRepository = userCountersRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        logger.info("UserCounterService inicializado.");
+    }
+
+    public void createFor(long userId) {
+        jdbcTemplate.update(INSERT_SQL, userId);
+    }
+
+    public void deleteFor(long userId) {
+        jdbcTemplate.update(DELETE_SQL, userId);
+    }
+
+    // delta = 1 ao seguir, -1 ao deixar de seguir.
+    public void recordFollow(long followerId, long followedId, int delta) {
+        jdbcTemplate.update(FOLLOW_SQL, followerId, delta, followedId, delta, followerId, followedId);
+    }
+
+    // Soma um lote de relações novas com um update por usuário, em ordem de ID pelo mesmo motivo de FOLLOW_SQL.
+    public void addFollows(long[] followerIds, long[] followedIds, int count) {
+        Map<Long, long[]> deltas = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            deltas.computeIfAbsent(followerIds[i], id -> new long[2])[0]++;
+            deltas.computeIfAbsent(followedIds[i], id -> new long[2])[1]++;
+        }
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((userId, delta) -> updates.add(new Object[]{delta[0], delta[1], userId}));
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(FOLLOW_BATCH_SQL, updates);
+        }
+    }
+
+    public void addPosts(long userId, int delta) {
+        jdbcTemplate.update(POSTS_SQL, delta, userId);
+    }
+
+    // Recebe as mesmas linhas (delta, postId) gravadas em posts.like_count e as soma no autor de cada post.
+    public void addLikesReceived(List<Object[]> postDeltas) {
+        jdbcTemplate.batchUpdate(LIKES_RECEIVED_SQL, postDeltas);
+    }
+
+    // Cria e recalcula a linha de um único usuário em transação própria, no primário: quem chama pode estar em uma
+    // transação somente leitura, presa a uma réplica.
+    public UserCounters reconcileUser(long userId) {
+        return newTransactionTemplate.execute(status -> {
+            reconcileRange(userId, userId);
+            return userCountersRepository.findById(userId).orElseThrow();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${redesocial.users.counters-reconcile-ms:3600000}",
+            initialDelayString = "${redesocial.users.counters-reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        logger.info("Reconciliando contadores de usuários a partir das tabelas follows e posts.");
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        long users = 0;
+        List<Long> page;
+        do {
+            long afterId = lastId;
+            page = DataSourceRouting.onPrimary(() -> userRepository.findIdsAfter(afterId, PageRequest.of(0, RECONCILE_PAGE_SIZE)));
+            if (page.isEmpty()) {
+                break;
+            }
+            long firstId = page.get(0);
+            lastId = page.get(page.size() - 1);
+            long rangeEnd = lastId;
+            // Uma transação curta por faixa de IDs, para não segurar bloqueios na tabela inteira.
+            transactionTemplate.executeWithoutResult(status -> reconcileRange(firstId, rangeEnd));
+            users += page.size();
+        } while (page.size() == RECONCILE_PAGE_SIZE);
+        logger.info("Contadores de {} usuários reconciliados em {} ms.", users, System.currentTimeMillis() - start);
+    }
+
+    private void reconcileRange(long firstId, long lastId) {
+        jdbcTemplate.update(INSERT_MISSING_SQL, firstId, lastId);
+        jdbcTemplate.update(RECONCILE_SQL, firstId, lastId);
+    }
+}
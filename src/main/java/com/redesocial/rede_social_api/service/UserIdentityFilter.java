@@ -0,0 +1,98 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.repository.UserIdentity;
+import com.redesocial.rede_social_api.repository.UserRepository;
+import com.redesocial.rede_social_api.util.BloomFilter;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import com.redesocial.rede_social_api.util.TextTokenizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Component
+public class UserIdentityFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserIdentityFilter.class);
+
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final UserRepository userRepository;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private volatile boolean ready;
+
+    @Autowired
+    public UserIdentityFilter(UserRepository userRepository,
+                              @Value("${redesocial.users.identity-filter-expected-size:1000000}") long expectedSize) {
+        this.userRepository = userRepository;
+        this.usernames = new BloomFilter(expectedSize, FALSE_POSITIVE_RATE);
+        this.emails = new BloomFilter(expectedSize, FALSE_POSITIVE_RATE);
+        logger.info("UserIdentityFilter inicializado.");
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Os filtros recebem inserções desde a criação, então nada gravado durante a carga se perde.
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        DataSourceRouting.onPrimary(this::loadPages);
+    }
+
+    private void loadPages() {
+        logger.info("Carregando filtro de usernames e emails a partir da tabela users.");
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        long loaded = 0;
+        List<UserIdentity> page;
+        do {
+            page = userRepository.findIdentitiesAfter(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (UserIdentity identity : page) {
+                addUsername(identity.getUsername());
+                addEmail(identity.getEmail());
+                lastId = identity.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        ready = true;
+        logger.info("Filtro de usernames e emails carregado com {} usuários em {} ms.", loaded, System.currentTimeMillis() - start);
+    }
+
+    // Enquanto o filtro não está carregado, toda consulta é tratada como "talvez exista".
+    public boolean mightContainUsername(String username) {
+        return !ready || username == null || usernames.mightContain(normalize(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !ready || email == null || emails.mightContain(normalize(email));
+    }
+
+    public void addUsername(String username) {
+        if (username != null) {
+            usernames.put(normalize(username));
+        }
+    }
+
+    public void addEmail(String email) {
+        if (email != null) {
+            emails.put(normalize(email));
+        }
+    }
+
+    // Normaliza como uma collation sem distinção de maiúsculas/acentos: só gera mais "talvez", nunca falsos negativos.
+    private static String normalize(String value) {
+        return TextTokenizer.normalize(value);
+    }
+}
@@ -2,11 +2,22 @@ package com.redesocial.rede_social_api.service;
 
 import com.redesocial.rede_social_api.dto.UserRegisterDTO;
 import com.redesocial.rede_social_api.dto.UserResponseDTO;
+import com.redesocial.rede_social_api.dto.UserSummaryDTO;
 import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.model.UserCounters;
+import com.redesocial.rede_social_api.repository.UserCountersRepository;
+import com.redesocial.rede_social_api.repository.UserIdentity;
 import com.redesocial.rede_social_api.repository.UserRepository;
+import com.redesocial.rede_social_api.repository.UserSummary;
+import com.redesocial.rede_social_api.util.DataSourceRouting;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -19,47 +30,84 @@ public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
+    private final UserIdentityFilter userIdentityFilter;
+    private final UserCountersRepository userCountersRepository;
+    private final UserCounterService userCounterService;
+    private final ContentVersions contentVersions;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserIdentityFilter userIdentityFilter,
+                       UserCountersRepository userCountersRepository, UserCounterService userCounterService,
+                       ContentVersions contentVersions, PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
+        this.userIdentityFilter = userIdentityFilter;
+        this.userCountersRepository = userCountersRepository;
+        this.userCounterService = userCounterService;
+        this.contentVersions = contentVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         logger.info("UserService inicializado.");
     }
 
-    @Transactional
+    // Sem @Transactional pelo mesmo motivo de LikeService.likePost. O filtro só conhece o que esta instância viu: um nome
+    // ou email gravado por outra instância depois da carga passa pela verificação e só falha na constraint unique, que
+    // é traduzida para a mesma mensagem consultando o primário em uma sessão nova.
     public UserResponseDTO registerUser(UserRegisterDTO registerDTO) {
         logger.info("Tentativa de registro de novo usuário: {}", registerDTO.getUsername());
-        if (userRepository.existsByUsername(registerDTO.getUsername())) {
-            logger.warn("Falha no registro: Nome de usuário já existe: {}", registerDTO.getUsername());
-            throw new IllegalArgumentException("Nome de usuário já existe.");
-        }
-        if (userRepository.existsByEmail(registerDTO.getEmail())) {
-            logger.warn("Falha no registro: Email já cadastrado: {}", registerDTO.getEmail());
-            throw new IllegalArgumentException("Email já cadastrado.");
-        }
+        User savedUser;
+        try {
+            savedUser = transactionTemplate.execute(status -> {
+                // Resposta negativa do filtro dispensa a consulta; a constraint unique continua sendo a garantia final.
+                if (userIdentityFilter.mightContainUsername(registerDTO.getUsername())
+                        && userRepository.existsByUsername(registerDTO.getUsername())) {
+                    logger.warn("Falha no registro: Nome de usuário já existe: {}", registerDTO.getUsername());
+                    throw new IllegalArgumentException("Nome de usuário já existe.");
+                }
+                if (userIdentityFilter.mightContainEmail(registerDTO.getEmail())
+                        && userRepository.existsByEmail(registerDTO.getEmail())) {
+                    logger.warn("Falha no registro: Email já cadastrado: {}", registerDTO.getEmail());
+                    throw new IllegalArgumentException("Email já cadastrado.");
+                }
 
-        User user = new User();
-        user.setUsername(registerDTO.getUsername());
-        user.setPassword(registerDTO.getPassword());
-        user.setEmail(registerDTO.getEmail());
-        user.setFirstName(registerDTO.getFirstName());
-        user.setLastName(registerDTO.getLastName());
+                User user = new User();
+                user.setUsername(registerDTO.getUsername());
+                user.setPassword(registerDTO.getPassword());
+                user.setEmail(registerDTO.getEmail());
+                user.setFirstName(registerDTO.getFirstName());
+                user.setLastName(registerDTO.getLastName());
 
-        User savedUser = userRepository.save(user);
+                userIdentityFilter.addUsername(user.getUsername());
+                userIdentityFilter.addEmail(user.getEmail());
+                User saved = userRepository.saveAndFlush(user);
+                userCounterService.createFor(saved.getId());
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw DataSourceRouting.onPrimary(() -> diagnoseIdentityConflict(registerDTO.getUsername(), registerDTO.getEmail(), e));
+        }
         logger.info("Usuário registrado com sucesso: {}", savedUser.getUsername());
         return mapUserToUserResponseDTO(savedUser);
     }
 
-    public List<UserResponseDTO> getAllUsers() {
-        logger.info("Buscando todos os usuários.");
-        List<UserResponseDTO> users = userRepository.findAll().stream()
-                .map(this::mapUserToUserResponseDTO)
+    @Transactional(readOnly = true)
+    public List<UserResponseDTO> getAllUsers(Long afterId, int limit) {
+        logger.info("Buscando usuários após o ID {} (limite: {}).", afterId, limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            logger.warn("Falha ao buscar usuários: limite inválido {}.", limit);
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+        // Projeção com apenas id, username e email: não carrega entidades no contexto de persistência.
+        List<UserResponseDTO> users = userRepository.findIdentitiesAfter(afterId == null ? 0L : afterId, PageRequest.of(0, limit)).stream()
+                .map(this::mapUserIdentityToUserResponseDTO)
                 .collect(Collectors.toList());
         logger.info("{} usuários encontrados.", users.size());
         return users;
     }
 
+    @Transactional(readOnly = true)
     public UserResponseDTO getUserById(Long id) {
         logger.info("Buscando usuário com ID: {}", id);
         Optional<User> userOptional = userRepository.findById(id);
@@ -71,27 +119,75 @@ public class UserService {
         return mapUserToUserResponseDTO(userOptional.get());
     }
 
-    @Transactional
-    public UserResponseDTO updateUser(Long id, UserResponseDTO userUpdateDTO) {
-        logger.info("Tentativa de atualização do usuário com ID: {}", id);
-        User user = userRepository.findById(id)
+    // Dados do perfil e contadores em uma única consulta por chave primária, no lugar de três contagens e da listagem
+    // de todos os posts.
+    @Transactional(readOnly = true)
+    public UserSummaryDTO getUserSummary(Long id) {
+        logger.info("Buscando resumo do perfil do usuário com ID: {}", id);
+        UserSummary summary = userCountersRepository.findSummaryById(id)
                 .orElseThrow(() -> {
                     logger.warn("Usuário não encontrado com ID: {}", id);
                     return new IllegalArgumentException("Usuário não encontrado com ID: " + id);
                 });
-
-        if (userRepository.existsByEmail(userUpdateDTO.getEmail()) && !user.getEmail().equals(userUpdateDTO.getEmail())) {
-            logger.warn("Falha na atualização: Email já cadastrado para outro usuário: {}", userUpdateDTO.getEmail());
-            throw new IllegalArgumentException("Email já cadastrado.");
+        UserSummaryDTO dto = mapUserSummaryToUserSummaryDTO(summary);
+        if (summary.getFollowers() == null) {
+            // Usuário anterior à tabela de contadores e ainda não alcançado pela reconciliação.
+            logger.info("Contadores ausentes para o usuário {}; calculando a partir das tabelas de origem.", id);
+            UserCounters counters = userCounterService.reconcileUser(id);
+            dto.setFollowers(counters.getFollowers());
+            dto.setFollowing(counters.getFollowing());
+            dto.setPosts(counters.getPosts());
+            dto.setLikesReceived(counters.getLikesReceived());
         }
+        return dto;
+    }
+
+    // Sem @Transactional, como registerUser: a violação da constraint de email é diagnosticada fora da transação.
+    public UserResponseDTO updateUser(Long id, UserResponseDTO userUpdateDTO) {
+        logger.info("Tentativa de atualização do usuário com ID: {}", id);
+        User updatedUser;
+        try {
+            updatedUser = transactionTemplate.execute(status -> {
+                User user = userRepository.findById(id)
+                        .orElseThrow(() -> {
+                            logger.warn("Usuário não encontrado com ID: {}", id);
+                            return new IllegalArgumentException("Usuário não encontrado com ID: " + id);
+                        });
 
-        user.setEmail(userUpdateDTO.getEmail());
+                if (!user.getEmail().equals(userUpdateDTO.getEmail())
+                        && userIdentityFilter.mightContainEmail(userUpdateDTO.getEmail())
+                        && userRepository.existsByEmail(userUpdateDTO.getEmail())) {
+                    logger.warn("Falha na atualização: Email já cadastrado para outro usuário: {}", userUpdateDTO.getEmail());
+                    throw new IllegalArgumentException("Email já cadastrado.");
+                }
 
-        User updatedUser = userRepository.save(user);
+                user.setEmail(userUpdateDTO.getEmail());
+                userIdentityFilter.addEmail(user.getEmail());
+
+                User saved = userRepository.saveAndFlush(user);
+                contentVersions.onUserChanged();
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw DataSourceRouting.onPrimary(() -> diagnoseIdentityConflict(null, userUpdateDTO.getEmail(), e));
+        }
         logger.info("Usuário com ID {} atualizado com sucesso.", id);
         return mapUserToUserResponseDTO(updatedUser);
     }
 
+    // Traduz a violação da constraint unique para as mesmas mensagens das verificações prévias.
+    private RuntimeException diagnoseIdentityConflict(String username, String email, DataIntegrityViolationException cause) {
+        if (username != null && userRepository.existsByUsername(username)) {
+            logger.warn("Falha ao gravar usuário: Nome de usuário já existe: {}", username);
+            return new IllegalArgumentException("Nome de usuário já existe.");
+        }
+        if (email != null && userRepository.existsByEmail(email)) {
+            logger.warn("Falha ao gravar usuário: Email já cadastrado: {}", email);
+            return new IllegalArgumentException("Email já cadastrado.");
+        }
+        return cause;
+    }
+
     @Transactional
     public void deleteUser(Long id) {
         logger.info("Tentativa de exclusão do usuário com ID: {}", id);
@@ -100,6 +196,8 @@ public class UserService {
             throw new IllegalArgumentException("Usuário não encontrado com ID: " + id);
         }
         userRepository.deleteById(id);
+        userCounterService.deleteFor(id);
+        contentVersions.onUserChanged();
         logger.info("Usuário com ID {} excluído com sucesso.", id);
     }
 
@@ -112,6 +210,23 @@ public class UserService {
                 });
     }
 
+    public void ensureUserExists(Long id) {
+        if (!userRepository.existsById(id)) {
+            logger.warn("Usuário não encontrado com ID: {}", id);
+            throw new IllegalArgumentException("Usuário não encontrado com ID: " + id);
+        }
+    }
+
+    // Proxy sem consulta ao banco, para usar como chave estrangeira em inserts.
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    public List<User> findUserEntitiesByIds(Collection<Long> ids) {
+        logger.debug("Buscando {} entidades de usuário por ID.", ids.size());
+        return userRepository.findAllById(ids);
+    }
+
     public User findUserEntityByUsername(String username) {
         logger.debug("Buscando entidade de usuário com username: {}", username);
         User user = userRepository.findByUsername(username);
@@ -123,6 +238,30 @@ public class UserService {
         return user;
     }
 
+    private UserSummaryDTO mapUserSummaryToUserSummaryDTO(UserSummary summary) {
+        UserSummaryDTO dto = new UserSummaryDTO();
+        dto.setId(summary.getId());
+        dto.setUsername(summary.getUsername());
+        dto.setEmail(summary.getEmail());
+        dto.setFirstName(summary.getFirstName());
+        dto.setLastName(summary.getLastName());
+        if (summary.getFollowers() != null) {
+            dto.setFollowers(summary.getFollowers());
+            dto.setFollowing(summary.getFollowing());
+            dto.setPosts(summary.getPosts());
+            dto.setLikesReceived(summary.getLikesReceived());
+        }
+        return dto;
+    }
+
+    private UserResponseDTO mapUserIdentityToUserResponseDTO(UserIdentity identity) {
+        UserResponseDTO dto = new UserResponseDTO();
+        dto.setId(identity.getId());
+        dto.setUsername(identity.getUsername());
+        dto.setEmail(identity.getEmail());
+        return dto;
+    }
+
     public UserResponseDTO mapUserToUserResponseDTO(User user) {
         logger.debug("Mapeando User para UserResponseDTO para usuário: {}", user.getUsername());
         UserResponseDTO dto = new UserResponseDTO();
@@ -0,0 +1,136 @@
+package com.redesocial.rede_social_api.util;
+
+import java.util.Arrays;
+
+// Conjunto ordenado e imutável de long dividido em blocos de até MAX_BLOCK_SIZE elementos. Inserir ou remover copia
+// só o bloco afetado e o array de referências aos blocos, em vez do conjunto inteiro: para 1 milhão de elementos são
+// ~8 KB do bloco mais ~10 KB de referências, e não 8 MB. Conjuntos pequenos ficam em um único bloco.
+public final class BlockedLongSet {
+
+    public static final int MAX_BLOCK_SIZE = 1024;
+
+    public static final BlockedLongSet EMPTY = new BlockedLongSet(new long[0][], 0);
+
+    private final long[][] blocks;
+    private final int size;
+
+    private BlockedLongSet(long[][] blocks, int size) {
+        this.blocks = blocks;
+        this.size = size;
+    }
+
+    // Recebe um array ordenado e sem duplicatas, que passa a pertencer ao conjunto e não pode mais ser alterado.
+    public static BlockedLongSet of(long[] sorted) {
+        if (sorted == null || sorted.length == 0) {
+            return EMPTY;
+        }
+        if (sorted.length <= MAX_BLOCK_SIZE) {
+            return new BlockedLongSet(new long[][]{sorted}, sorted.length);
+        }
+        // Blocos criados pela metade, para as próximas inserções não dividirem um bloco logo de saída.
+        int blockSize = MAX_BLOCK_SIZE / 2;
+        long[][] blocks = new long[(sorted.length + blockSize - 1) / blockSize][];
+        for (int b = 0; b < blocks.length; b++) {
+            blocks[b] = Arrays.copyOfRange(sorted, b * blockSize, Math.min(sorted.length, (b + 1) * blockSize));
+        }
+        return new BlockedLongSet(blocks, sorted.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(long value) {
+        int b = blockFor(value);
+        return b >= 0 && Arrays.binarySearch(blocks[b], value) >= 0;
+    }
+
+    public BlockedLongSet insert(long value) {
+        if (blocks.length == 0) {
+            return new BlockedLongSet(new long[][]{{value}}, 1);
+        }
+        int b = Math.max(0, blockFor(value));
+        long[] block = blocks[b];
+        long[] grown = LongArrays.insert(block, value);
+        if (grown == block) {
+            return this;
+        }
+        if (grown.length <= MAX_BLOCK_SIZE) {
+            long[][] updated = blocks.clone();
+            updated[b] = grown;
+            return new BlockedLongSet(updated, size + 1);
+        }
+        int half = grown.length / 2;
+        long[][] updated = new long[blocks.length + 1][];
+        System.arraycopy(blocks, 0, updated, 0, b);
+        updated[b] = Arrays.copyOfRange(grown, 0, half);
+        updated[b + 1] = Arrays.copyOfRange(grown, half, grown.length);
+        System.arraycopy(blocks, b + 1, updated, b + 2, blocks.length - b - 1);
+        return new BlockedLongSet(updated, size + 1);
+    }
+
+    public BlockedLongSet remove(long value) {
+        int b = blockFor(value);
+        if (b < 0) {
+            return this;
+        }
+        long[] block = blocks[b];
+        long[] shrunk = LongArrays.remove(block, value);
+        if (shrunk == block) {
+            return this;
+        }
+        if (shrunk != null) {
+            long[][] updated = blocks.clone();
+            updated[b] = shrunk;
+            return new BlockedLongSet(updated, size - 1);
+        }
+        if (blocks.length == 1) {
+            return EMPTY;
+        }
+        long[][] updated = new long[blocks.length - 1][];
+        System.arraycopy(blocks, 0, updated, 0, b);
+        System.arraycopy(blocks, b + 1, updated, b, blocks.length - b - 1);
+        return new BlockedLongSet(updated, size - 1);
+    }
+
+    // Para lotes grandes (importação): refaz o conjunto inteiro uma vez, em vez de uma cópia de bloco por elemento.
+    public BlockedLongSet union(long[] sortedAdditions) {
+        long[] current = toArray();
+        long[] merged = LongArrays.union(current, sortedAdditions);
+        return merged == current ? this : of(merged);
+    }
+
+    // Todos os elementos em ordem. Com um único bloco devolve o próprio bloco, sem cópia; o array não deve ser alterado.
+    public long[] toArray() {
+        if (blocks.length == 0) {
+            return LongArrays.EMPTY;
+        }
+        if (blocks.length == 1) {
+            return blocks[0];
+        }
+        long[] result = new long[size];
+        int offset = 0;
+        for (long[] block : blocks) {
+            System.arraycopy(block, 0, result, offset, block.length);
+            offset += block.length;
+        }
+        return result;
+    }
+
+    // Índice do último bloco cujo primeiro elemento é <= value, ou -1 se value vier antes de todos.
+    private int blockFor(long value) {
+        int low = 0;
+        int high = blocks.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blocks[mid][0] <= value) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,33 @@
+package com.redesocial.rede_social_api.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Acertos e falhas de um cache em memória, lidos pelas métricas.
+public final class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    // NaN enquanto não houver leituras, para o gráfico não mostrar um 0% que não aconteceu.
+    public double hitRatio() {
+        long hitCount = hits();
+        long total = hitCount + misses();
+        return total == 0 ? Double.NaN : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,62 @@
+package com.redesocial.rede_social_api.util;
+
+import java.util.function.Supplier;
+
+// Estado por thread que obriga leituras somente-leitura a usar o banco primário em vez de uma réplica.
+// Só tem efeito quando há réplicas configuradas (ver config.ReplicaRoutingDataSource).
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    // Executa a ação lendo do primário. Para quem monta índices e caches em memória que também recebem eventos de
+    // escrita (o que ainda não chegou à réplica não seria coberto nem pela carga nem pelos eventos já emitidos) e para
+    // quem diagnostica uma violação de constraint, que aconteceu no primário.
+    public static <T> T onPrimary(Supplier<T> action) {
+        State state = state();
+        state.primaryScopes++;
+        try {
+            return action.get();
+        } finally {
+            state.primaryScopes--;
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Leituras da thread vão para o primário até o instante informado (leia suas próprias escritas).
+    public static void pinToPrimaryUntil(long epochMillis) {
+        State state = state();
+        state.pinnedUntil = Math.max(state.pinnedUntil, epochMillis);
+    }
+
+    public static boolean isPrimaryRequired() {
+        State state = STATE.get();
+        return state != null && (state.primaryScopes > 0 || state.pinnedUntil > System.currentTimeMillis());
+    }
+
+    public static void reset() {
+        STATE.remove();
+    }
+
+    private static State state() {
+        State state = STATE.get();
+        if (state == null) {
+            state = new State();
+            STATE.set(state);
+        }
+        return state;
+    }
+
+    private static final class State {
+        private int primaryScopes;
+        private long pinnedUntil;
+    }
+}
@@ -0,0 +1,96 @@
+package com.redesocial.rede_social_api.util;
+
+import java.util.Arrays;
+
+// Operações sobre arrays ordenados de long usados como conjuntos imutáveis (copy-on-write).
+public final class LongArrays {
+
+    public static final long[] EMPTY = new long[0];
+
+    private LongArrays() {
+    }
+
+    public static boolean contains(long[] sorted, long value) {
+        return sorted != null && Arrays.binarySearch(sorted, value) >= 0;
+    }
+
+    public static long[] insert(long[] sorted, long value) {
+        if (sorted == null || sorted.length == 0) {
+            return new long[]{value};
+        }
+        int pos = Arrays.binarySearch(sorted, value);
+        if (pos >= 0) {
+            return sorted;
+        }
+        int insertAt = -pos - 1;
+        long[] result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(sorted, insertAt, result, insertAt + 1, sorted.length - insertAt);
+        return result;
+    }
+
+    public static long[] remove(long[] sorted, long value) {
+        if (sorted == null) {
+            return null;
+        }
+        int pos = Arrays.binarySearch(sorted, value);
+        if (pos < 0) {
+            return sorted;
+        }
+        if (sorted.length == 1) {
+            return null;
+        }
+        long[] result = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, pos);
+        System.arraycopy(sorted, pos + 1, result, pos, sorted.length - pos - 1);
+        return result;
+    }
+
+    // União de dois arrays ordenados e sem duplicatas; devolve 'sorted' sem copiar quando nada é novo.
+    public static long[] union(long[] sorted, long[] additions) {
+        if (sorted == null || sorted.length == 0) {
+            return additions;
+        }
+        long[] result = new long[sorted.length + additions.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < sorted.length && j < additions.length) {
+            if (sorted[i] < additions[j]) {
+                result[size++] = sorted[i++];
+            } else if (sorted[i] > additions[j]) {
+                result[size++] = additions[j++];
+            } else {
+                result[size++] = sorted[i++];
+                j++;
+            }
+        }
+        while (i < sorted.length) {
+            result[size++] = sorted[i++];
+        }
+        while (j < additions.length) {
+            result[size++] = additions[j++];
+        }
+        if (size == sorted.length) {
+            return sorted;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    // Ordena e remove duplicatas dos primeiros 'length' elementos, devolvendo um array do tamanho exato.
+    public static long[] sortedDistinct(long[] values, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        long[] result = Arrays.copyOf(values, length);
+        Arrays.sort(result);
+        int size = 1;
+        for (int i = 1; i < length; i++) {
+            if (result[i] != result[size - 1]) {
+                result[size++] = result[i];
+            }
+        }
+        return size == length ? result : Arrays.copyOf(result, size);
+    }
+}
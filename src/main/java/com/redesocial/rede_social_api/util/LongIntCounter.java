@@ -0,0 +1,118 @@
+package com.redesocial.rede_social_api.util;
+
+// Mapa long -> int com endereçamento aberto para contagens, sem boxing de chaves ou valores.
+public final class LongIntCounter {
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+    // A chave 0 marca posição vazia, então sua contagem fica à parte.
+    private int zeroCount;
+    private boolean hasZero;
+
+    public LongIntCounter(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        counts = new int[capacity];
+    }
+
+    public void add(long key, int delta) {
+        if (key == EMPTY) {
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            zeroCount += delta;
+            return;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                counts[slot] += delta;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        counts[slot] = delta;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    public void put(long key, int value) {
+        add(key, value - get(key));
+    }
+
+    public void addAll(LongIntCounter other) {
+        if (other.hasZero) {
+            add(EMPTY, other.zeroCount);
+        }
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != EMPTY) {
+                add(other.keys[i], other.counts[i]);
+            }
+        }
+    }
+
+    public int get(long key) {
+        if (key == EMPTY) {
+            return zeroCount;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return counts[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (hasZero) {
+            consumer.accept(EMPTY, zeroCount);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], counts[i]);
+            }
+        }
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldCounts.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int count);
+    }
+}
@@ -0,0 +1,118 @@
+package com.redesocial.rede_social_api.util;
+
+import java.util.Arrays;
+
+// Lista de postings (documento, frequência) em ordem crescente de documento, com lacunas e frequências em varint.
+public final class PostingList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int size;
+    private int lastDoc = -1;
+
+    public int size() {
+        return size;
+    }
+
+    public int sizeInBytes() {
+        return length;
+    }
+
+    public void add(int doc, int freq) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Documentos devem ser adicionados em ordem crescente: " + doc + " <= " + lastDoc);
+        }
+        ensureCapacity(10);
+        writeVarint(doc - lastDoc);
+        writeVarint(freq);
+        lastDoc = doc;
+        size++;
+    }
+
+    // Concatena uma lista cujos documentos, somados a offset, vêm depois dos desta. Só a primeira lacuna é recodificada.
+    public void append(PostingList other, int offset) {
+        if (other.size == 0) {
+            return;
+        }
+        Cursor cursor = other.cursor();
+        cursor.next();
+        add(cursor.doc() + offset, cursor.freq());
+        int rest = other.length - cursor.position;
+        ensureCapacity(rest);
+        System.arraycopy(other.data, cursor.position, data, length, rest);
+        length += rest;
+        size += other.size - 1;
+        lastDoc = other.lastDoc + offset;
+    }
+
+    // Nova lista com os documentos renumerados por remap; posições com valor negativo são descartadas.
+    public PostingList remap(int[] remap) {
+        PostingList result = new PostingList();
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            int doc = remap[cursor.doc()];
+            if (doc >= 0) {
+                result.add(doc, cursor.freq());
+            }
+        }
+        result.data = Arrays.copyOf(result.data, result.length);
+        return result;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(length + extra, data.length + (data.length >> 1)));
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    public final class Cursor {
+
+        private int position;
+        private int remaining = size;
+        private int doc = -1;
+        private int freq;
+
+        public boolean next() {
+            if (remaining == 0) {
+                doc = Integer.MAX_VALUE;
+                return false;
+            }
+            remaining--;
+            doc += readVarint();
+            freq = readVarint();
+            return true;
+        }
+
+        public int doc() {
+            return doc;
+        }
+
+        public int freq() {
+            return freq;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
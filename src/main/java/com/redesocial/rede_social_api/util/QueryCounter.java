@@ -0,0 +1,51 @@
+package com.redesocial.rede_social_api.util;
+
+// Conta as instruções SQL preparadas pela thread atual enquanto houver um escopo aberto.
+// Escopos podem ser aninhados: cada um enxerga só o que foi executado depois de aberto.
+public final class QueryCounter {
+
+    private static final ThreadLocal<long[]> STATEMENTS = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Scope open() {
+        long[] statements = STATEMENTS.get();
+        boolean owner = statements == null;
+        if (owner) {
+            statements = new long[1];
+            STATEMENTS.set(statements);
+        }
+        return new Scope(statements, owner);
+    }
+
+    public static void record() {
+        long[] statements = STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final long[] statements;
+        private final long start;
+        private final boolean owner;
+
+        private Scope(long[] statements, boolean owner) {
+            this.statements = statements;
+            this.start = statements[0];
+            this.owner = owner;
+        }
+
+        public long count() {
+            return statements[0] - start;
+        }
+
+        @Override
+        public void close() {
+            if (owner) {
+                STATEMENTS.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.redesocial.rede_social_api.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// IDs de 64 bits ordenados pelo tempo: 41 bits de milissegundos desde EPOCH, 10 bits de nó e 12 de sequência.
+// Passam de 2^53, então os DTOs os serializam como string (@JsonSerialize com ToStringSerializer) para clientes JavaScript.
+public final class Snowflake {
+
+    // 2024-01-01T00:00:00Z; 41 bits de milissegundos cobrem cerca de 69 anos a partir daqui.
+    public static final long EPOCH = 1_704_067_200_000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // Último (timestamp << SEQUENCE_BITS | sequência) emitido; avançado apenas por CAS.
+    private final AtomicLong state = new AtomicLong();
+
+    public Snowflake(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    Snowflake(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("O ID do nó deve estar entre 0 e " + MAX_NODE_ID + ".");
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+            // Relógio à frente: sequência reinicia. Mesmo milissegundo, relógio atrasado ou sequência esgotada:
+            // incrementa o estado, o que "empresta" o milissegundo seguinte sem nunca repetir um ID.
+            long next = now > last ? now : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return (next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public static long timestampMillis(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+}
@@ -0,0 +1,51 @@
+package com.redesocial.rede_social_api.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Normalização e tokenização de texto sem distinção de maiúsculas e acentos.
+public final class TextTokenizer {
+
+    public static final int MIN_TOKEN_LENGTH = 2;
+    public static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private TextTokenizer() {
+    }
+
+    public static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value.strip(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Quebra o texto em sequências de letras e dígitos; tokens muito curtos ou longos são descartados.
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = normalize(text);
+        int start = -1;
+        int i = 0;
+        while (i <= normalized.length()) {
+            int codePoint = i < normalized.length() ? normalized.codePointAt(i) : ' ';
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                int length = i - start;
+                if (length >= MIN_TOKEN_LENGTH && length <= MAX_TOKEN_LENGTH) {
+                    tokens.add(normalized.substring(start, i));
+                }
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return tokens;
+    }
+}
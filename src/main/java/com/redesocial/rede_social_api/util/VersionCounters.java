@@ -0,0 +1,41 @@
+package com.redesocial.rede_social_api.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Contadores de versão por chave em memória fixa: cada chave cai em uma posição pelo hash e chaves que colidem dividem o
+// contador. Uma colisão só faz uma versão mudar sem necessidade; a versão de uma chave nunca deixa de mudar quando ela muda.
+public final class VersionCounters {
+
+    private final AtomicLongArray versions;
+    // Momento do último incremento de cada posição, para quem precisa saber se a mudança é recente.
+    private final AtomicLongArray bumpedAt;
+    private final int mask;
+
+    public VersionCounters(int slots) {
+        int capacity = Integer.highestOneBit(Math.max(2, slots) - 1) << 1;
+        versions = new AtomicLongArray(capacity);
+        bumpedAt = new AtomicLongArray(capacity);
+        mask = capacity - 1;
+    }
+
+    // Grava o horário antes de incrementar: quem lê a versão e depois o horário (nessa ordem) e vê a versão nova vê
+    // também o horário dela.
+    public void bump(long key) {
+        int slot = slot(key);
+        bumpedAt.set(slot, System.currentTimeMillis());
+        versions.incrementAndGet(slot);
+    }
+
+    public long version(long key) {
+        return versions.get(slot(key));
+    }
+
+    public long bumpedAt(long key) {
+        return bumpedAt.get(slot(key));
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
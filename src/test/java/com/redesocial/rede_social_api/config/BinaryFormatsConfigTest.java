@@ -0,0 +1,95 @@
+package com.redesocial.rede_social_api.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redesocial.rede_social_api.dto.PostCreateDTO;
+import com.redesocial.rede_social_api.dto.UserRegisterDTO;
+import com.redesocial.rede_social_api.service.PostService;
+import com.redesocial.rede_social_api.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BinaryFormatsConfigTest {
+
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final String CBOR = "application/cbor";
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        int n = sequence.incrementAndGet();
+        UserRegisterDTO registerDTO = new UserRegisterDTO();
+        registerDTO.setUsername("binario" + n);
+        registerDTO.setEmail("binario" + n + "@example.com");
+        registerDTO.setPassword("senha12345");
+        registerDTO.setFirstName("Binário");
+        registerDTO.setLastName("Teste" + n);
+        userId = userService.registerUser(registerDTO).getId();
+        for (int i = 0; i < 3; i++) {
+            PostCreateDTO postCreateDTO = new PostCreateDTO();
+            postCreateDTO.setContent("Post " + i + " em formato binário");
+            postService.createPost(postCreateDTO, userId);
+        }
+    }
+
+    @Test
+    void wildcardAccept_StaysJson() throws Exception {
+        MvcResult result = request(MediaType.ALL_VALUE);
+
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(result.getResponse().getContentType())));
+    }
+
+    @Test
+    void smileAndCbor_EncodeSameContentAsJson() throws Exception {
+        JsonNode json = new ObjectMapper().readTree(request(MediaType.APPLICATION_JSON_VALUE).getResponse().getContentAsByteArray());
+        MvcResult smile = request(SMILE);
+        MvcResult cbor = request(CBOR);
+
+        assertEquals(SMILE, MediaType.parseMediaType(smile.getResponse().getContentType()).toString());
+        assertEquals(CBOR, MediaType.parseMediaType(cbor.getResponse().getContentType()).toString());
+        assertEquals(json, new ObjectMapper(BinaryFormatsConfig.smileFactory()).readTree(smile.getResponse().getContentAsByteArray()));
+        assertEquals(json, new ObjectMapper(BinaryFormatsConfig.cborFactory()).readTree(cbor.getResponse().getContentAsByteArray()));
+        assertEquals(3, json.size());
+        assertTrue(smile.getResponse().getContentAsByteArray().length < request(MediaType.APPLICATION_JSON_VALUE).getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void ids_AreSerializedAsStrings() throws Exception {
+        JsonNode post = new ObjectMapper().readTree(request(MediaType.APPLICATION_JSON_VALUE).getResponse().getContentAsByteArray()).get(0);
+
+        assertTrue(post.get("id").isTextual());
+        assertEquals(userId.toString(), post.get("userId").asText());
+        assertTrue(post.get("userId").isTextual());
+    }
+
+    private MvcResult request(String accept) throws Exception {
+        return mockMvc.perform(get("/api/posts/user/" + userId).header(HttpHeaders.ACCEPT, accept)).andReturn();
+    }
+}
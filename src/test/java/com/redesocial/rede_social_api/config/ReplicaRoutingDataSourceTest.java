@@ -0,0 +1,142 @@
+package com.redesocial.rede_social_api.config;
+
+import com.redesocial.rede_social_api.util.DataSourceRouting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Primário e réplica são dois bancos H2 em memória distintos; cada um responde com o próprio nome.
+public class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_SECONDS = 2;
+    private static final long READ_YOUR_WRITES_MILLIS = 60_000;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        DriverManagerDataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary" + suffix + ";DB_CLOSE_DELAY=-1", "sa", "");
+        DriverManagerDataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica" + suffix + ";DB_CLOSE_DELAY=-1", "sa", "");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        for (JdbcTemplate jdbc : List.of(primaryJdbc, replicaJdbc)) {
+            jdbc.execute("create table node (name varchar(20))");
+            jdbc.execute("create table replica_lag (seconds bigint)");
+            jdbc.execute("insert into replica_lag values (0)");
+        }
+        primaryJdbc.update("insert into node values ('primary')");
+        replicaJdbc.update("insert into node values ('replica')");
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), "select seconds from replica_lag",
+                MAX_LAG_SECONDS, READ_YOUR_WRITES_MILLIS);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRouting.reset();
+        primaryJdbc.execute("shutdown");
+        replicaJdbc.execute("shutdown");
+    }
+
+    @Test
+    void readOnlyTransaction_GoesToReplica_WritesAndNonTransactionalReadsGoToPrimary() {
+        routingDataSource.checkReplicaLag();
+
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+        assertEquals("primary", writeTransaction.execute(status -> currentNode()));
+        assertEquals("primary", currentNode());
+        assertEquals(1, routingDataSource.getReplicaReads());
+    }
+
+    @Test
+    void readOnlyTransaction_BeforeFirstLagCheck_GoesToPrimary() {
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentNode()));
+        assertEquals(1, routingDataSource.getPrimaryFallbacks());
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaLagging_FallsBackToPrimaryUntilCaughtUp() {
+        replicaJdbc.update("update replica_lag set seconds = ?", MAX_LAG_SECONDS + 1);
+        routingDataSource.checkReplicaLag();
+
+        assertEquals(MAX_LAG_SECONDS + 1, routingDataSource.getReplicaLagSeconds(0));
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentNode()));
+
+        replicaJdbc.update("update replica_lag set seconds = ?", MAX_LAG_SECONDS);
+        routingDataSource.checkReplicaLag();
+
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicationStopped_FallsBackToPrimary() {
+        replicaJdbc.update("update replica_lag set seconds = null");
+        routingDataSource.checkReplicaLag();
+
+        assertEquals(ReplicaRoutingDataSource.UNKNOWN_LAG, routingDataSource.getReplicaLagSeconds(0));
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void readOnlyTransaction_AfterCommittedWrite_ReadsOwnWritesFromPrimary() {
+        routingDataSource.checkReplicaLag();
+        AtomicLong notifiedUntil = new AtomicLong();
+        routingDataSource.setWriteListener(notifiedUntil::set);
+
+        long before = System.currentTimeMillis();
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("insert into node values ('written')"));
+
+        assertTrue(notifiedUntil.get() >= before + READ_YOUR_WRITES_MILLIS);
+        Long rows = readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject("select count(*) from node", Long.class));
+        assertEquals(2L, rows);
+
+        DataSourceRouting.reset();
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void readOnlyTransaction_RolledBackWrite_DoesNotPinToPrimary() {
+        routingDataSource.checkReplicaLag();
+
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into node values ('written')");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    @Test
+    void readOnlyTransaction_InsidePrimaryScope_GoesToPrimary() {
+        routingDataSource.checkReplicaLag();
+
+        assertEquals("primary", DataSourceRouting.onPrimary(() -> readOnlyTransaction.execute(status -> currentNode())));
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node fetch first row only", String.class);
+    }
+}
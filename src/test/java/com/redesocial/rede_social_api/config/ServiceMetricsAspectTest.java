@@ -0,0 +1,66 @@
+package com.redesocial.rede_social_api.config;
+
+import com.redesocial.rede_social_api.service.TimelineInboxStore;
+import com.redesocial.rede_social_api.service.TrendingService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private TrendingService trendingService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        trendingService = proxy(new TrendingService(null, null, 360, 1.0, 3.0));
+    }
+
+    @Test
+    void time_RecordsTimerPerServiceAndMethod() {
+        trendingService.recordLike(1L);
+        trendingService.recordLike(2L);
+        trendingService.getTrendingPostIds(10);
+
+        Timer likes = registry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("service", "TrendingService", "method", "recordLike", "exception", "none")
+                .timer();
+        assertNotNull(likes);
+        assertEquals(2, likes.count());
+        assertEquals(1, registry.find(ServiceMetricsAspect.METRIC_NAME).tag("method", "getTrendingPostIds").timer().count());
+    }
+
+    @Test
+    void time_TagsExceptionAndRethrows() {
+        assertThrows(IllegalArgumentException.class, () -> trendingService.getTrendingPostIds(0));
+        assertThrows(IllegalArgumentException.class, () -> trendingService.getTrendingPostIds(0));
+
+        Timer failures = registry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("method", "getTrendingPostIds", "exception", "IllegalArgumentException")
+                .timer();
+        assertNotNull(failures);
+        assertEquals(2, failures.count());
+    }
+
+    @Test
+    void time_SkipsInMemoryComponents() {
+        TimelineInboxStore inboxStore = proxy(new TimelineInboxStore(10, 1000, 30));
+
+        inboxStore.read(1L);
+        inboxStore.invalidate(1L);
+
+        assertTrue(registry.find(ServiceMetricsAspect.METRIC_NAME).timers().isEmpty());
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,174 @@
+package com.redesocial.rede_social_api.controller;
+
+import com.redesocial.rede_social_api.config.QueryCountFilter;
+import com.redesocial.rede_social_api.dto.FollowDTO;
+import com.redesocial.rede_social_api.dto.PostCreateDTO;
+import com.redesocial.rede_social_api.dto.UserRegisterDTO;
+import com.redesocial.rede_social_api.service.FollowGraphIndex;
+import com.redesocial.rede_social_api.service.FollowService;
+import com.redesocial.rede_social_api.service.PostService;
+import com.redesocial.rede_social_api.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Servidor real (RANDOM_PORT) para exercitar a compressão do Tomcat junto com o ETag; o resto usa o MockMvc.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConditionalGetTest {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private FollowGraphIndex followGraphIndex;
+
+    private Long alice;
+    private Long bob;
+    private Long postId;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        alice = registerUser();
+        bob = registerUser();
+        postId = createPost(bob, "Post original");
+        // O índice carrega em @Async no startup; sem ele a timeline sai sem ETag.
+        while (!followGraphIndex.isReady()) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void getPost_WithCurrentETag_Returns304WithoutQueries() throws Exception {
+        MvcResult first = request("/api/posts/" + postId, null);
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(200, first.getResponse().getStatus());
+        assertNotNull(etag);
+        assertEquals(1, first.getResponse().getHeaders(HttpHeaders.ETAG).size());
+
+        MvcResult cached = request("/api/posts/" + postId, etag);
+        assertEquals(304, cached.getResponse().getStatus());
+        assertEquals(0, cached.getResponse().getContentLength());
+        assertEquals("0", cached.getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER));
+
+        PostCreateDTO update = new PostCreateDTO();
+        update.setContent("Post editado");
+        postService.updatePost(postId, update, bob);
+
+        MvcResult changed = request("/api/posts/" + postId, etag);
+        assertEquals(200, changed.getResponse().getStatus());
+        assertNotEquals(etag, changed.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(changed.getResponse().getContentAsString().contains("Post editado"));
+    }
+
+    @Test
+    void getPost_EachRepresentationHasItsOwnETag() throws Exception {
+        String json = mockMvc.perform(get("/api/posts/" + postId).header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String smile = mockMvc.perform(get("/api/posts/" + postId).header(HttpHeaders.ACCEPT, "application/x-jackson-smile"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(json, smile);
+    }
+
+    @Test
+    void timelineAndFollowers_ChangeWithFollowsAndPosts() throws Exception {
+        String timeline = request("/api/timeline/" + alice, null).getResponse().getHeader(HttpHeaders.ETAG);
+        String followers = request("/api/follows/followers/" + bob, null).getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(304, request("/api/timeline/" + alice, timeline).getResponse().getStatus());
+        assertEquals(304, request("/api/follows/followers/" + bob, followers).getResponse().getStatus());
+
+        FollowDTO follow = new FollowDTO();
+        follow.setFollowerId(alice);
+        follow.setFollowedId(bob);
+        followService.followUser(follow);
+
+        MvcResult followedTimeline = request("/api/timeline/" + alice, timeline);
+        assertEquals(200, followedTimeline.getResponse().getStatus());
+        assertEquals(200, request("/api/follows/followers/" + bob, followers).getResponse().getStatus());
+
+        timeline = followedTimeline.getResponse().getHeader(HttpHeaders.ETAG);
+        createPost(bob, "Post novo de quem alice segue");
+        MvcResult afterPost = request("/api/timeline/" + alice, timeline);
+        assertEquals(200, afterPost.getResponse().getStatus());
+        assertTrue(afterPost.getResponse().getContentAsString().contains("Post novo de quem alice segue"));
+    }
+
+    @Test
+    void getWithETag_IsStillGzipped() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            createPost(bob, ("Post " + i + " longo o bastante para a página passar do tamanho mínimo de compressão. ").repeat(2));
+        }
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/posts/user/" + bob))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build();
+
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        String etag = response.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        assertTrue(etag.startsWith("W/\""));
+
+        HttpResponse<byte[]> cached = client.send(HttpRequest.newBuilder(request.uri())
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(304, cached.statusCode());
+    }
+
+    private MvcResult request(String uri, String ifNoneMatch) throws Exception {
+        return ifNoneMatch == null
+                ? mockMvc.perform(get(uri)).andReturn()
+                : mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)).andReturn();
+    }
+
+    private Long registerUser() {
+        int n = sequence.incrementAndGet();
+        UserRegisterDTO registerDTO = new UserRegisterDTO();
+        registerDTO.setUsername("etag" + n);
+        registerDTO.setEmail("etag" + n + "@example.com");
+        registerDTO.setPassword("senha12345");
+        registerDTO.setFirstName("ETag");
+        registerDTO.setLastName("Teste" + n);
+        return userService.registerUser(registerDTO).getId();
+    }
+
+    private Long createPost(Long userId, String content) {
+        PostCreateDTO postCreateDTO = new PostCreateDTO();
+        postCreateDTO.setContent(content);
+        return postService.createPost(postCreateDTO, userId).getId();
+    }
+}
@@ -0,0 +1,168 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.CommentCreateDTO;
+import com.redesocial.rede_social_api.dto.CommentResponseDTO;
+import com.redesocial.rede_social_api.dto.KeysetCursor;
+import com.redesocial.rede_social_api.model.Comment;
+import com.redesocial.rede_social_api.model.Post;
+import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.repository.CommentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentServiceTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CommentService commentService;
+    private User author;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        commentService = new CommentService(commentRepository, userService, postService, trendingService, transactionManager, 300);
+        author = new User(1L, "author", "password123", "author@example.com", "Author", "User");
+        post = new Post(10L, "Post", LocalDateTime.now(), author);
+    }
+
+    @Test
+    void createComment_SavesAndUpdatesCachedCount() {
+        when(commentRepository.countByPost_Id(10L)).thenReturn(4L);
+        assertEquals(4L, commentService.countCommentsForPost(10L));
+
+        when(userService.findUserEntityById(1L)).thenReturn(author);
+        when(postService.getPostReference(10L)).thenReturn(post);
+        when(commentRepository.saveAndFlush(any(Comment.class))).thenAnswer(invocation -> {
+            Comment comment = invocation.getArgument(0);
+            comment.setId(100L);
+            return comment;
+        });
+
+        CommentResponseDTO result = commentService.createComment(commentDTO(10L, "Ótimo post!"), 1L);
+
+        assertEquals(100L, result.getId());
+        assertEquals("author", result.getUsername());
+        assertEquals(10L, result.getPostId());
+        assertEquals(5L, commentService.countCommentsForPost(10L));
+        verify(commentRepository, times(1)).countByPost_Id(10L);
+        verify(trendingService, times(1)).recordComment(10L);
+        InOrder inOrder = inOrder(transactionManager, userService, postService, commentRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userService).findUserEntityById(1L);
+        inOrder.verify(postService).getPostReference(10L);
+        inOrder.verify(commentRepository).saveAndFlush(any(Comment.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void createComment_PostNotFound_ThrowsException() {
+        when(userService.findUserEntityById(1L)).thenReturn(author);
+        when(postService.getPostReference(999L)).thenReturn(new Post());
+        when(commentRepository.saveAndFlush(any(Comment.class))).thenThrow(new DataIntegrityViolationException("fk"));
+        when(postService.findPostEntityById(999L)).thenThrow(new IllegalArgumentException("Post não encontrado com ID: 999"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> commentService.createComment(commentDTO(999L, "Oi"), 1L));
+
+        assertEquals("Post não encontrado com ID: 999", exception.getMessage());
+        verify(trendingService, never()).recordComment(anyLong());
+    }
+
+    @Test
+    void createComment_BlankContent_ThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> commentService.createComment(commentDTO(10L, "   "), 1L));
+
+        assertEquals("O comentário não pode ser vazio.", exception.getMessage());
+        verify(commentRepository, never()).saveAndFlush(any(Comment.class));
+    }
+
+    @Test
+    void getCommentsForPost_UsesCursorQuery() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 28, 10, 30);
+        CommentResponseDTO next = new CommentResponseDTO(102L, "Depois", "author", 10L, createdAt.plusMinutes(1));
+        when(commentRepository.findPageAfter(10L, createdAt, 101L, PageRequest.of(0, 2))).thenReturn(List.of(next));
+
+        List<CommentResponseDTO> result = commentService.getCommentsForPost(10L, new KeysetCursor(createdAt, 101L), 2);
+
+        assertEquals(List.of(next), result);
+        verify(commentRepository, never()).findPage(anyLong(), any());
+        verify(postService, never()).findPostEntityById(anyLong());
+    }
+
+    @Test
+    void getCommentsForPost_EmptyPageForMissingPost_ThrowsException() {
+        when(commentRepository.findPage(999L, PageRequest.of(0, 20))).thenReturn(List.of());
+        when(postService.findPostEntityById(999L)).thenThrow(new IllegalArgumentException("Post não encontrado com ID: 999"));
+
+        assertThrows(IllegalArgumentException.class, () -> commentService.getCommentsForPost(999L, null, 20));
+    }
+
+    @Test
+    void getCommentsForPost_InvalidLimit_ThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> commentService.getCommentsForPost(10L, null, CommentService.MAX_PAGE_SIZE + 1));
+
+        assertEquals("O limite deve estar entre 1 e 100.", exception.getMessage());
+    }
+
+    @Test
+    void deleteComment_ByAuthor_DecrementsCachedCount() {
+        when(commentRepository.countByPost_Id(10L)).thenReturn(3L);
+        commentService.countCommentsForPost(10L);
+        Comment comment = new Comment(100L, "Oi", LocalDateTime.now(), author, post);
+        when(commentRepository.findById(100L)).thenReturn(Optional.of(comment));
+
+        commentService.deleteComment(100L, 1L);
+
+        verify(commentRepository, times(1)).delete(comment);
+        assertEquals(2L, commentService.countCommentsForPost(10L));
+    }
+
+    @Test
+    void deleteComment_NotAuthor_ThrowsException() {
+        Comment comment = new Comment(100L, "Oi", LocalDateTime.now(), author, post);
+        when(commentRepository.findById(100L)).thenReturn(Optional.of(comment));
+
+        Exception exception = assertThrows(SecurityException.class, () -> commentService.deleteComment(100L, 2L));
+
+        assertEquals("Você não tem permissão para deletar este comentário.", exception.getMessage());
+        verify(commentRepository, never()).delete(any(Comment.class));
+    }
+
+    private static CommentCreateDTO commentDTO(Long postId, String content) {
+        CommentCreateDTO dto = new CommentCreateDTO();
+        dto.setPostId(postId);
+        dto.setContent(content);
+        return dto;
+    }
+}
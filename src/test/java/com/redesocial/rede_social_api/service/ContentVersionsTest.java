@@ -0,0 +1,97 @@
+package com.redesocial.rede_social_api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ContentVersionsTest {
+
+    @Mock
+    private FollowGraphIndex followGraphIndex;
+
+    private ContentVersions contentVersions;
+
+    @BeforeEach
+    void setUp() {
+        contentVersions = new ContentVersions(followGraphIndex, true, 65536, "", 2, 1000);
+    }
+
+    @Test
+    void timelineTag_ChangesOnlyWhenFollowedAuthorsOrFollowingChange() {
+        when(followGraphIndex.isReady()).thenReturn(true);
+        when(followGraphIndex.getFollowing(1L)).thenReturn(new long[]{2L, 3L});
+        String initial = contentVersions.timelineTag(1L);
+
+        contentVersions.onPostCreated(4L);
+        assertEquals(initial, contentVersions.timelineTag(1L));
+
+        contentVersions.onPostCreated(2L);
+        String afterFollowedPost = contentVersions.timelineTag(1L);
+        assertNotEquals(initial, afterFollowedPost);
+
+        contentVersions.onPostChanged(100L, 1L);
+        String afterOwnEdit = contentVersions.timelineTag(1L);
+        assertNotEquals(afterFollowedPost, afterOwnEdit);
+
+        contentVersions.onFollowChanged(1L, 4L);
+        assertNotEquals(afterOwnEdit, contentVersions.timelineTag(1L));
+    }
+
+    @Test
+    void timelineTag_WithoutIndex_ReturnsNull() {
+        when(followGraphIndex.isReady()).thenReturn(false);
+
+        assertNull(contentVersions.timelineTag(1L));
+        verify(followGraphIndex, never()).getFollowing(anyLong());
+    }
+
+    @Test
+    void postAndListTags_ChangeOnlyWithTheirEntity() {
+        String post = contentVersions.postTag(10L);
+        String otherPost = contentVersions.postTag(11L);
+        String followers = contentVersions.followersTag(2L);
+        String following = contentVersions.followingTag(1L);
+
+        contentVersions.onPostChanged(10L, 1L);
+        contentVersions.onFollowChanged(1L, 2L);
+
+        assertNotEquals(post, contentVersions.postTag(10L));
+        assertEquals(otherPost, contentVersions.postTag(11L));
+        assertNotEquals(followers, contentVersions.followersTag(2L));
+        assertNotEquals(following, contentVersions.followingTag(1L));
+
+        String afterChanges = contentVersions.postTag(11L);
+        contentVersions.onUserChanged();
+        assertNotEquals(afterChanges, contentVersions.postTag(11L));
+    }
+
+    @Test
+    void tags_Disabled_AreAlwaysNull() {
+        contentVersions = new ContentVersions(followGraphIndex, false, 65536, "", 2, 1000);
+        lenient().when(followGraphIndex.isReady()).thenReturn(true);
+
+        assertNull(contentVersions.postTag(10L));
+        assertNull(contentVersions.userPostsTag(1L));
+        assertNull(contentVersions.followersTag(1L));
+        assertNull(contentVersions.followingTag(1L));
+        assertNull(contentVersions.timelineTag(1L));
+    }
+
+    @Test
+    void tags_WithReplicas_AreWithheldRightAfterAChange() {
+        contentVersions = new ContentVersions(followGraphIndex, true, 65536, "jdbc:mysql://replica:3306/rede_social", 2, 1000);
+        assertNotNull(contentVersions.postTag(10L));
+
+        contentVersions.onPostChanged(10L, 1L);
+
+        assertNull(contentVersions.postTag(10L));
+        assertNull(contentVersions.userPostsTag(1L));
+        assertNotNull(contentVersions.postTag(11L));
+    }
+}
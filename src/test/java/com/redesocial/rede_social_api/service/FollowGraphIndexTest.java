@@ -0,0 +1,109 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.repository.FollowEdge;
+import com.redesocial.rede_social_api.repository.FollowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FollowGraphIndexTest {
+
+    @Mock
+    private FollowRepository followRepository;
+
+    private FollowGraphIndex followGraphIndex;
+
+    @BeforeEach
+    void setUp() {
+        followGraphIndex = new FollowGraphIndex(followRepository);
+    }
+
+    @Test
+    void rebuild_LoadsSortedAdjacencyListsFromRepository() {
+        when(followRepository.findEdgesAfter(eq(0L), any())).thenReturn(Arrays.asList(
+                edge(1L, 1L, 3L), edge(2L, 1L, 2L), edge(3L, 2L, 3L)));
+
+        followGraphIndex.rebuild();
+
+        assertTrue(followGraphIndex.isReady());
+        assertArrayEquals(new long[]{2L, 3L}, followGraphIndex.getFollowing(1L));
+        assertArrayEquals(new long[]{1L, 2L}, followGraphIndex.getFollowers(3L));
+        assertEquals(0, followGraphIndex.countFollowers(1L));
+        assertTrue(followGraphIndex.isFollowing(2L, 3L));
+        assertFalse(followGraphIndex.isFollowing(3L, 2L));
+    }
+
+    @Test
+    void addAndRemoveEdge_KeepBothDirectionsInSync() {
+        followGraphIndex.addEdge(1L, 2L);
+        followGraphIndex.addEdge(1L, 2L);
+        followGraphIndex.addEdge(3L, 2L);
+
+        assertEquals(2, followGraphIndex.countFollowers(2L));
+        assertEquals(1, followGraphIndex.countFollowing(1L));
+
+        followGraphIndex.removeEdge(1L, 2L);
+
+        assertArrayEquals(new long[]{3L}, followGraphIndex.getFollowers(2L));
+        assertEquals(0, followGraphIndex.countFollowing(1L));
+        assertFalse(followGraphIndex.isFollowing(1L, 2L));
+    }
+
+    @Test
+    void addEdges_MergesBatchIntoExistingAdjacencyLists() {
+        followGraphIndex.addEdge(1L, 5L);
+
+        followGraphIndex.addEdges(new long[]{1L, 1L, 2L, 1L}, new long[]{3L, 7L, 3L, 5L}, 3);
+
+        assertArrayEquals(new long[]{3L, 5L, 7L}, followGraphIndex.getFollowing(1L));
+        assertArrayEquals(new long[]{1L, 2L}, followGraphIndex.getFollowers(3L));
+        assertEquals(1, followGraphIndex.countFollowers(5L));
+        assertTrue(followGraphIndex.isFollowing(2L, 3L));
+    }
+
+    @Test
+    void addAndRemoveEdge_LargeAdjacencyList_StaysSortedAcrossBlocks() {
+        for (long followerId = 5_000L; followerId > 0; followerId--) {
+            followGraphIndex.addEdge(followerId, 0L);
+        }
+        followGraphIndex.removeEdge(2_500L, 0L);
+
+        long[] followers = followGraphIndex.getFollowers(0L);
+        assertEquals(4_999, followGraphIndex.countFollowers(0L));
+        assertEquals(4_999, followers.length);
+        for (int i = 1; i < followers.length; i++) {
+            assertTrue(followers[i - 1] < followers[i]);
+        }
+        assertFalse(followGraphIndex.isFollowing(2_500L, 0L));
+        assertTrue(followGraphIndex.isFollowing(2_501L, 0L));
+    }
+
+    private static FollowEdge edge(Long id, Long followerId, Long followedId) {
+        return new FollowEdge() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getFollowerId() {
+                return followerId;
+            }
+
+            @Override
+            public Long getFollowedId() {
+                return followedId;
+            }
+        };
+    }
+}
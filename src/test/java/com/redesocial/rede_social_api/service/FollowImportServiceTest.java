@@ -0,0 +1,155 @@
+package com.redesocial.rede_social_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redesocial.rede_social_api.dto.FollowDTO;
+import com.redesocial.rede_social_api.dto.FollowImportResultDTO;
+import com.redesocial.rede_social_api.dto.UserRegisterDTO;
+import com.redesocial.rede_social_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Roda sobre o H2 no modo MySQL para exercitar o INSERT IGNORE de verdade.
+@SpringBootTest
+@ActiveProfiles("test")
+public class FollowImportServiceTest {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private FollowImportService followImportService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private UserService userService;
+
+    private Long alice;
+    private Long bob;
+    private Long carol;
+
+    @BeforeEach
+    void setUp() {
+        alice = registerUser();
+        bob = registerUser();
+        carol = registerUser();
+    }
+
+    @Test
+    void importFollows_Csv_SkipsDuplicatesAndRejectsInvalidPairs() {
+        FollowDTO existing = new FollowDTO();
+        existing.setFollowerId(alice);
+        existing.setFollowedId(carol);
+        followService.followUser(existing);
+
+        String csv = "followerId,followedId\n"
+                + alice + "," + bob + "\n"
+                + alice + "," + bob + "\n"
+                + bob + " , " + carol + "\n"
+                + alice + "," + carol + "\n"
+                + carol + "," + carol + "\n"
+                + carol + ",999999999999\n"
+                + "\n";
+
+        FollowImportResultDTO result = followImportService.importFollows(body(csv), FollowImportService.Format.CSV);
+
+        assertEquals(6, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(2, result.getRejected());
+        assertEquals(1, result.getChunks());
+        assertTrue(followService.isFollowing(alice, bob));
+        assertTrue(followService.isFollowing(bob, carol));
+        assertEquals(2, followService.countFollowers(carol));
+
+        FollowImportResultDTO again = followImportService.importFollows(body(csv), FollowImportService.Format.CSV);
+
+        assertEquals(0, again.getImported());
+        assertEquals(4, again.getDuplicates());
+    }
+
+    @Test
+    void importFollows_Ndjson_AcceptsNumericAndStringIds() {
+        String ndjson = "{\"followerId\": " + carol + ", \"followedId\": " + alice + "}\n"
+                + "{\"followedId\": \"" + bob + "\", \"followerId\": \"" + carol + "\", \"source\": {\"id\": 1}}\n";
+
+        FollowImportResultDTO result = followImportService.importFollows(body(ndjson), FollowImportService.Format.NDJSON);
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, followService.countFollowing(carol));
+    }
+
+    @Test
+    void importFollows_MalformedLine_ThrowsWithLineNumber() {
+        String csv = alice + "," + bob + "\n" + "abc;def\n";
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> followImportService.importFollows(body(csv), FollowImportService.Format.CSV));
+
+        assertTrue(exception.getMessage().startsWith("Linha 2 inválida"));
+        assertFalse(followService.isFollowing(alice, bob));
+    }
+
+    // O H2 devolve a contagem de cada linha; o Connector/J com rewriteBatchedStatements devolve SUCCESS_NO_INFO para
+    // todas, inclusive as ignoradas. Só as linhas cujo ID existe depois do lote contam como gravadas.
+    @Test
+    void importFollows_SuccessNoInfo_CountsOnlyRowsThatExist() {
+        UserRepository userRepository = mock(UserRepository.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        FollowGraphIndex followGraphIndex = mock(FollowGraphIndex.class);
+        TimelineService timelineService = mock(TimelineService.class);
+        UserCounterService userCounterService = mock(UserCounterService.class);
+        ContentVersions contentVersions = mock(ContentVersions.class);
+        FollowImportService service = new FollowImportService(userRepository, jdbcTemplate, mock(PlatformTransactionManager.class),
+                followGraphIndex, timelineService, mock(SuggestionService.class), userCounterService, contentVersions,
+                new ObjectMapper(), 0, 100);
+        when(userRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L, 3L));
+        int noInfo = Statement.SUCCESS_NO_INFO;
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenReturn(new int[]{noInfo, noInfo, noInfo});
+        // A segunda linha (1 -> 3) já existia: o IGNORE a descartou e o ID gerado para ela não está na tabela.
+        when(jdbcTemplate.queryForList(startsWith("select id from follows where id in"), eq(Long.class), any(Object[].class)))
+                .thenAnswer(invocation -> List.of(invocation.getArgument(2), invocation.getArgument(4)));
+
+        FollowImportResultDTO result = service.importFollows(body("1,2\n1,3\n2,3\n"), FollowImportService.Format.CSV);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getDuplicates());
+        verify(userCounterService).addFollows(any(), any(), eq(2));
+        verify(followGraphIndex).addEdges(any(), any(), eq(2));
+        verify(contentVersions).onFollowChanged(1L, 2L);
+        verify(contentVersions).onFollowChanged(2L, 3L);
+        verify(contentVersions, never()).onFollowChanged(1L, 3L);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long registerUser() {
+        int n = sequence.incrementAndGet();
+        UserRegisterDTO registerDTO = new UserRegisterDTO();
+        registerDTO.setUsername("importacao" + n);
+        registerDTO.setEmail("importacao" + n + "@example.com");
+        registerDTO.setPassword("senha12345");
+        registerDTO.setFirstName("Importação");
+        registerDTO.setLastName("Teste" + n);
+        return userService.registerUser(registerDTO).getId();
+    }
+}
@@ -0,0 +1,96 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.UserResponseDTO;
+import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.repository.FollowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FollowServiceTest {
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private FollowGraphIndex followGraphIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FollowService followService;
+
+    @BeforeEach
+    void setUp() {
+        followService = new FollowService(followRepository, userService, null, followGraphIndex, null, null, null,
+                transactionManager);
+        when(followGraphIndex.isReady()).thenReturn(true);
+    }
+
+    @Test
+    void getFollowers_LargeAccount_LooksUpInBatchesAndKeepsIndexOrder() {
+        int followers = FollowService.USER_LOOKUP_BATCH * 2 + 500;
+        long[] followerIds = new long[followers];
+        for (int i = 0; i < followers; i++) {
+            followerIds[i] = 100L + i;
+        }
+        when(followGraphIndex.getFollowers(1L)).thenReturn(followerIds);
+        when(userService.findUserEntitiesByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            List<User> users = new ArrayList<>();
+            for (Long id : ids) {
+                users.add(new User(id, "user" + id, "password123", "user" + id + "@example.com", "User", "Test"));
+            }
+            Collections.reverse(users);
+            return users;
+        });
+        when(userService.mapUserToUserResponseDTO(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            UserResponseDTO dto = new UserResponseDTO();
+            dto.setId(user.getId());
+            return dto;
+        });
+
+        List<UserResponseDTO> result = followService.getFollowers(1L);
+
+        assertEquals(followers, result.size());
+        for (int i = 0; i < followers; i++) {
+            assertEquals(followerIds[i], result.get(i).getId());
+        }
+        verify(userService, times(3)).findUserEntitiesByIds(argThat(ids -> ids.size() <= FollowService.USER_LOOKUP_BATCH));
+    }
+
+    @Test
+    void isFollowing_WithIndex_UnknownUser_ThrowsException() {
+        when(followGraphIndex.isFollowing(999L, 2L)).thenReturn(false);
+        doThrow(new IllegalArgumentException("Usuário não encontrado com ID: 999")).when(userService).ensureUserExists(999L);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> followService.isFollowing(999L, 2L));
+
+        assertEquals("Usuário não encontrado com ID: 999", exception.getMessage());
+    }
+
+    @Test
+    void isFollowing_WithIndex_ExistingEdge_SkipsExistenceCheck() {
+        when(followGraphIndex.isFollowing(1L, 2L)).thenReturn(true);
+
+        assertTrue(followService.isFollowing(1L, 2L));
+        verify(userService, never()).ensureUserExists(anyLong());
+    }
+}
@@ -0,0 +1,91 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LikeCounterServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UserCounterService userCounterService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LikeCounterService likeCounterService;
+
+    @BeforeEach
+    void setUp() {
+        likeCounterService = new LikeCounterService(postRepository, jdbcTemplate, userCounterService, transactionManager, 2, false);
+    }
+
+    @Test
+    void getCount_SeedsFromColumnAndAppliesDeltas() {
+        when(postRepository.findLikeCountById(1L)).thenReturn(Optional.of(10L));
+
+        likeCounterService.increment(1L);
+        likeCounterService.increment(1L);
+        likeCounterService.decrement(1L);
+
+        assertEquals(11L, likeCounterService.getCount(1L));
+        verify(postRepository, times(1)).findLikeCountById(1L);
+    }
+
+    @Test
+    void getCount_PostNotFound() {
+        when(postRepository.findLikeCountById(99L)).thenReturn(Optional.empty());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> likeCounterService.getCount(99L));
+
+        assertEquals("Post não encontrado com ID: 99", exception.getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WritesOnlyPendingDeltas() {
+        when(postRepository.findLikeCountById(1L)).thenReturn(Optional.of(5L));
+        likeCounterService.increment(1L);
+        likeCounterService.increment(1L);
+
+        likeCounterService.flush();
+        likeCounterService.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertArrayEquals(new Object[]{2L, 1L}, captor.getValue().get(0));
+    }
+
+    @Test
+    void flush_EvictsIdleCountersAndReseedsFromColumn() {
+        when(postRepository.findLikeCountById(1L)).thenReturn(Optional.of(5L), Optional.of(6L));
+        likeCounterService.increment(1L);
+
+        likeCounterService.flush();
+        likeCounterService.flush();
+        likeCounterService.flush();
+
+        assertEquals(6L, likeCounterService.getCount(1L));
+        verify(postRepository, times(2)).findLikeCountById(1L);
+    }
+}
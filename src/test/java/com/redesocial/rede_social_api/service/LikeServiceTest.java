@@ -0,0 +1,141 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.LikeDTO;
+import com.redesocial.rede_social_api.model.Like;
+import com.redesocial.rede_social_api.model.Post;
+import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.repository.LikeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LikeServiceTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private LikeCounterService likeCounterService;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LikeService likeService;
+
+    @Test
+    void likePost_InsertsWithoutReadingEntities() {
+        when(userService.getUserReference(1L)).thenReturn(new User());
+        when(postService.getPostReference(10L)).thenReturn(new Post());
+
+        likeService.likePost(likeDTO(1L, 10L));
+
+        verify(likeRepository, times(1)).saveAndFlush(any(Like.class));
+        verify(userService, never()).findUserEntityById(anyLong());
+        verify(postService, never()).findPostEntityById(anyLong());
+        verify(likeCounterService, times(1)).increment(10L);
+        verify(trendingService, times(1)).recordLike(10L);
+        InOrder order = inOrder(transactionManager, userService, postService, likeRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(userService).getUserReference(1L);
+        order.verify(postService).getPostReference(10L);
+        order.verify(likeRepository).saveAndFlush(any(Like.class));
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void likePost_AlreadyLiked_MapsConstraintViolation() {
+        when(likeRepository.saveAndFlush(any(Like.class))).thenThrow(new DataIntegrityViolationException("uk_likes_user_post"));
+        when(likeRepository.existsByUserIdAndPostId(1L, 10L)).thenReturn(true);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> likeService.likePost(likeDTO(1L, 10L)));
+
+        assertEquals("Você já curtiu este post.", exception.getMessage());
+        verify(likeCounterService, never()).increment(anyLong());
+    }
+
+    @Test
+    void likePost_PostNotFound_MapsForeignKeyViolation() {
+        when(likeRepository.saveAndFlush(any(Like.class))).thenThrow(new DataIntegrityViolationException("fk_post"));
+        when(postService.findPostEntityById(99L)).thenThrow(new IllegalArgumentException("Post não encontrado com ID: 99"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> likeService.likePost(likeDTO(1L, 99L)));
+
+        assertEquals("Post não encontrado com ID: 99", exception.getMessage());
+    }
+
+    @Test
+    void unlikePost_NotLiked_ThrowsException() {
+        when(likeRepository.deleteByUserIdAndPostId(1L, 10L)).thenReturn(0);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> likeService.unlikePost(likeDTO(1L, 10L)));
+
+        assertEquals("Você não curtiu este post.", exception.getMessage());
+        verify(likeCounterService, never()).decrement(anyLong());
+    }
+
+    @Test
+    void getLikeStatus_AnswersWholePageWithSingleQuery() {
+        when(likeRepository.findLikedPostIdsAmong(eq(1L), anyCollection())).thenReturn(List.of(11L));
+
+        Map<Long, Boolean> status = likeService.getLikeStatus(1L, Arrays.asList(12L, 11L, 10L));
+
+        assertEquals(Arrays.asList(12L, 11L, 10L), new ArrayList<>(status.keySet()));
+        assertEquals(Arrays.asList(false, true, false), new ArrayList<>(status.values()));
+        verify(likeRepository, times(1)).findLikedPostIdsAmong(eq(1L), anyCollection());
+        verify(likeRepository, never()).existsByUserIdAndPostId(anyLong(), anyLong());
+    }
+
+    @Test
+    void getLikeStatus_TooManyPosts_ThrowsException() {
+        List<Long> postIds = new ArrayList<>();
+        for (long id = 1; id <= LikeService.MAX_STATUS_BATCH_SIZE + 1; id++) {
+            postIds.add(id);
+        }
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> likeService.getLikeStatus(1L, postIds));
+
+        assertEquals("É possível verificar no máximo 100 posts por vez.", exception.getMessage());
+        verifyNoInteractions(likeRepository);
+    }
+
+    @Test
+    void getLikeStatus_UserNotFound_ThrowsException() {
+        doThrow(new IllegalArgumentException("Usuário não encontrado com ID: 99")).when(userService).ensureUserExists(99L);
+
+        assertThrows(IllegalArgumentException.class, () -> likeService.getLikeStatus(99L, List.of(10L)));
+
+        verifyNoInteractions(likeRepository);
+    }
+
+    private static LikeDTO likeDTO(Long userId, Long postId) {
+        LikeDTO dto = new LikeDTO();
+        dto.setUserId(userId);
+        dto.setPostId(postId);
+        return dto;
+    }
+}
@@ -0,0 +1,76 @@
+package com.redesocial.rede_social_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.redesocial.rede_social_api.model.Post;
+import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PostExportServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private PostExportService postExportService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        postExportService = new PostExportService(postRepository, new PostService(postRepository, null, null, null, null, null, null), entityManager, objectMapper);
+        user = new User(1L, "testuser", "password123", "test@example.com", "Test", "User");
+    }
+
+    @Test
+    void exportPosts_WritesOneJsonObjectPerLine() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 28, 11, 0);
+        when(postRepository.streamAllOrderById()).thenReturn(Stream.of(
+                new Post(1L, "Primeiro", createdAt, user),
+                new Post(2L, "Segundo", createdAt, user)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = postExportService.exportPosts(out);
+
+        assertEquals(2, exported);
+        assertEquals("{\"id\":\"1\",\"content\":\"Primeiro\",\"userId\":\"1\",\"username\":\"testuser\",\"createdAt\":\"2024-05-28T11:00:00\"}\n"
+                        + "{\"id\":\"2\",\"content\":\"Segundo\",\"userId\":\"1\",\"username\":\"testuser\",\"createdAt\":\"2024-05-28T11:00:00\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void exportPosts_ClearsPersistenceContextEveryBatch() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        when(postRepository.streamAllOrderById()).thenReturn(LongStream.rangeClosed(1, PostExportService.BATCH_SIZE * 2L + 1)
+                .mapToObj(id -> new Post(id, "Post " + id, createdAt, user)));
+
+        long exported = postExportService.exportPosts(new ByteArrayOutputStream());
+
+        assertEquals(PostExportService.BATCH_SIZE * 2L + 1, exported);
+        verify(entityManager, times(2)).clear();
+    }
+}
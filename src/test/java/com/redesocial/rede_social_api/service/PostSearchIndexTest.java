@@ -0,0 +1,165 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.SearchCursor;
+import com.redesocial.rede_social_api.repository.PostRepository;
+import com.redesocial.rede_social_api.repository.PostText;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PostSearchIndexTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostSearchIndex(postRepository);
+    }
+
+    @Test
+    void search_RanksByBm25AndIgnoresCaseAndAccents() {
+        index.index(1L, "Café com leite");
+        index.index(2L, "café café café e pão de queijo");
+        index.index(3L, "Chá gelado");
+
+        assertEquals(List.of(2L, 1L), postIds(index.search("CAFE", null, 10)));
+        assertEquals(List.of(3L), postIds(index.search("cha", null, 10)));
+        assertTrue(index.search("suco", null, 10).isEmpty());
+    }
+
+    @Test
+    void search_ShorterDocumentWinsForSameFrequency() {
+        index.index(1L, "java spring boot hibernate mysql docker kubernetes");
+        index.index(2L, "java");
+        index.index(3L, "python");
+
+        assertEquals(List.of(2L, 1L), postIds(index.search("java", null, 10)));
+    }
+
+    @Test
+    void index_UpdatedPostMatchesOnlyNewContent() {
+        index.index(1L, "texto antigo");
+        index.index(1L, "texto novo");
+
+        assertTrue(index.search("antigo", null, 10).isEmpty());
+        assertEquals(List.of(1L), postIds(index.search("novo", null, 10)));
+        assertEquals(List.of(1L), postIds(index.search("texto", null, 10)));
+    }
+
+    @Test
+    void remove_PostNoLongerMatches() {
+        index.index(1L, "java");
+        index.index(2L, "java");
+
+        index.remove(1L);
+
+        assertEquals(List.of(2L), postIds(index.search("java", null, 10)));
+    }
+
+    @Test
+    void search_CursorReturnsNextPageWithoutRepeats() {
+        for (long postId = 1; postId <= 25; postId++) {
+            index.index(postId, "spring" + " boot".repeat((int) (postId % 5)));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        SearchCursor cursor = null;
+        List<PostSearchIndex.Hit> page;
+        do {
+            page = index.search("spring boot", cursor, 10);
+            page.forEach(hit -> seen.add(hit.getPostId()));
+            if (!page.isEmpty()) {
+                PostSearchIndex.Hit last = page.get(page.size() - 1);
+                cursor = new SearchCursor(last.getScore(), last.getPostId());
+            }
+        } while (page.size() == 10);
+
+        assertEquals(25, seen.size());
+        assertEquals(25, seen.stream().distinct().count());
+    }
+
+    @Test
+    void rebuild_MergesSegmentsInOrderAndKeepsLiveChanges() {
+        List<PostText> page = new ArrayList<>();
+        for (long postId = 1; postId <= 2_500; postId++) {
+            page.add(text(postId, postId % 2 == 0 ? "par numero" : "impar numero"));
+        }
+        when(postRepository.findTextsAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            // Escritas que chegam enquanto a tabela é lida.
+            index.index(4L, "editado");
+            index.remove(6L);
+            return page;
+        });
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(1_248, countAll("par"));
+        assertEquals(List.of(4L), postIds(index.search("editado", null, 10)));
+        assertFalse(postIds(index.search("par", null, 100)).contains(4L));
+    }
+
+    @Test
+    void compact_KeepsResultsAfterRenumbering() {
+        when(postRepository.findTextsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        index.rebuild();
+        for (long postId = 1; postId <= 2_000; postId++) {
+            index.index(postId, "numero " + (postId % 2 == 0 ? "par" : "impar"));
+        }
+        for (long postId = 1; postId <= 1_200; postId++) {
+            index.index(postId, "numero " + (postId % 2 == 0 ? "par" : "impar"));
+        }
+
+        index.compact();
+
+        assertEquals(1_000, countAll("par"));
+        assertEquals(2_000, countAll("numero"));
+    }
+
+    private int countAll(String query) {
+        int total = 0;
+        SearchCursor cursor = null;
+        List<PostSearchIndex.Hit> page;
+        do {
+            page = index.search(query, cursor, 100);
+            total += page.size();
+            if (!page.isEmpty()) {
+                PostSearchIndex.Hit last = page.get(page.size() - 1);
+                cursor = new SearchCursor(last.getScore(), last.getPostId());
+            }
+        } while (page.size() == 100);
+        return total;
+    }
+
+    private static List<Long> postIds(List<PostSearchIndex.Hit> hits) {
+        return hits.stream().map(PostSearchIndex.Hit::getPostId).toList();
+    }
+
+    private static PostText text(long id, String content) {
+        return new PostText() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getContent() {
+                return content;
+            }
+        };
+    }
+}
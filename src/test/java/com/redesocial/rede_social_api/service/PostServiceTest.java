@@ -2,6 +2,8 @@ package com.redesocial.rede_social_api.service;
 
 import com.redesocial.rede_social_api.dto.PostCreateDTO;
 import com.redesocial.rede_social_api.dto.PostResponseDTO;
+import com.redesocial.rede_social_api.dto.PostSearchResultDTO;
+import com.redesocial.rede_social_api.dto.SearchCursor;
 import com.redesocial.rede_social_api.model.Post;
 import com.redesocial.rede_social_api.model.User;
 import com.redesocial.rede_social_api.repository.PostRepository;
@@ -29,6 +31,21 @@ public class PostServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private UserCounterService userCounterService;
+
+    @Mock
+    private ContentVersions contentVersions;
+
     @InjectMocks
     private PostService postService;
 
@@ -56,6 +73,9 @@ public class PostServiceTest {
         assertEquals(testPost.getUser().getUsername(), result.getUsername());
         verify(userService, times(1)).findUserEntityById(testUser.getId());
         verify(postRepository, times(1)).save(any(Post.class));
+        verify(timelineService, times(1)).onPostCreated(testPost);
+        verify(postSearchIndex, times(1)).index(testPost.getId(), testPost.getContent());
+        verify(contentVersions, times(1)).onPostCreated(testUser.getId());
     }
 
     @Test
@@ -151,6 +171,8 @@ public class PostServiceTest {
         assertEquals(updateDTO.getContent(), result.getContent());
         verify(postRepository, times(1)).findById(postToUpdate.getId());
         verify(postRepository, times(1)).save(postToUpdate);
+        verify(postSearchIndex, times(1)).index(postToUpdate.getId(), "Updated content");
+        verify(contentVersions, times(1)).onPostChanged(postToUpdate.getId(), anotherUser.getId());
     }
 
     @Test
@@ -197,6 +219,9 @@ public class PostServiceTest {
 
         verify(postRepository, times(1)).findById(testPost.getId());
         verify(postRepository, times(1)).delete(testPost);
+        verify(timelineService, times(1)).onPostDeleted(testPost);
+        verify(postSearchIndex, times(1)).remove(testPost.getId());
+        verify(contentVersions, times(1)).onPostChanged(testPost.getId(), testUser.getId());
     }
 
     @Test
@@ -244,4 +269,28 @@ public class PostServiceTest {
         verify(userService, times(1)).findUserEntityById(testUser.getId());
         verify(postRepository, times(1)).findByUser_Id(testUser.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchPosts_ReturnsPostsInRankOrderWithScores() {
+        Post post2 = new Post(102L, "Another post by user", LocalDateTime.now(), testUser);
+        SearchCursor cursor = new SearchCursor(5.0, 200L);
+        when(postSearchIndex.isReady()).thenReturn(true);
+        when(postSearchIndex.search("post", cursor, 2)).thenReturn(Arrays.asList(
+                new PostSearchIndex.Hit(102L, 2.5), new PostSearchIndex.Hit(101L, 1.5)));
+        when(postRepository.findAllWithUserByIdIn(Arrays.asList(102L, 101L))).thenReturn(Arrays.asList(testPost, post2));
+
+        List<PostSearchResultDTO> result = postService.searchPosts("post", cursor, 2);
+
+        assertEquals(Arrays.asList(102L, 101L), result.stream().map(PostSearchResultDTO::getId).toList());
+        assertEquals(2.5, result.get(0).getScore());
+        assertEquals(testUser.getUsername(), result.get(1).getUsername());
+    }
+
+    @Test
+    void searchPosts_BlankQuery_ThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> postService.searchPosts("  ", null, 20));
+
+        assertEquals("O termo de busca não pode ser vazio.", exception.getMessage());
+        verify(postSearchIndex, never()).search(anyString(), any(), anyInt());
+    }
+}
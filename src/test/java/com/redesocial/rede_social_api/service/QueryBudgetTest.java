@@ -0,0 +1,133 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.CommentCreateDTO;
+import com.redesocial.rede_social_api.dto.FollowDTO;
+import com.redesocial.rede_social_api.dto.PostCreateDTO;
+import com.redesocial.rede_social_api.dto.PostResponseDTO;
+import com.redesocial.rede_social_api.dto.UserRegisterDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.redesocial.rede_social_api.util.QueryCountAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Orçamentos de SQL por operação de leitura: o número de instruções não pode crescer com o número de linhas.
+@SpringBootTest
+@ActiveProfiles("test")
+public class QueryBudgetTest {
+
+    private static final int AUTHORS = 8;
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private CommentService commentService;
+
+    private Long readerId;
+    private final List<Long> authorIds = new ArrayList<>();
+    private final List<Long> postIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        readerId = registerUser();
+        for (int i = 0; i < AUTHORS; i++) {
+            Long authorId = registerUser();
+            authorIds.add(authorId);
+            FollowDTO followDTO = new FollowDTO();
+            followDTO.setFollowerId(readerId);
+            followDTO.setFollowedId(authorId);
+            followService.followUser(followDTO);
+            for (int j = 0; j < 2; j++) {
+                PostCreateDTO postCreateDTO = new PostCreateDTO();
+                postCreateDTO.setContent("Post " + j + " do autor " + authorId);
+                postIds.add(postService.createPost(postCreateDTO, authorId).getId());
+            }
+        }
+        for (Long authorId : authorIds) {
+            CommentCreateDTO commentCreateDTO = new CommentCreateDTO();
+            commentCreateDTO.setPostId(postIds.get(0));
+            commentCreateDTO.setContent("Comentário de " + authorId);
+            commentService.createComment(commentCreateDTO, authorId);
+        }
+    }
+
+    @Test
+    void getAllPosts_SingleQuery() {
+        assertMaxQueries(1, () -> postService.getAllPosts());
+    }
+
+    @Test
+    void getPostById_SingleQuery() {
+        PostResponseDTO post = assertMaxQueries(1, () -> postService.getPostById(postIds.get(0)));
+
+        assertEquals(postIds.get(0), post.getId());
+    }
+
+    @Test
+    void getPostsByUserId_DoesNotLoadAuthorPerPost() {
+        List<PostResponseDTO> posts = assertMaxQueries(2, () -> postService.getPostsByUserId(authorIds.get(0)));
+
+        assertEquals(2, posts.size());
+    }
+
+    @Test
+    void getFollowers_DoesNotLoadFollowerPerRow() {
+        Long followedId = authorIds.get(0);
+        for (int i = 0; i < AUTHORS; i++) {
+            FollowDTO followDTO = new FollowDTO();
+            followDTO.setFollowerId(authorIds.get(i == 0 ? 1 : i));
+            followDTO.setFollowedId(i == 0 ? readerId : followedId);
+            followService.followUser(followDTO);
+        }
+
+        assertEquals(AUTHORS, assertMaxQueries(2, () -> followService.getFollowers(followedId)).size());
+    }
+
+    @Test
+    void getUserTimeline_BoundedRegardlessOfFollowedAuthors() {
+        List<PostResponseDTO> timeline = assertMaxQueries(5, () -> timelineService.getUserTimeline(readerId, null, 20));
+
+        assertEquals(2 * AUTHORS, timeline.size());
+        // Segunda leitura vem do inbox materializado: no máximo a carga dos posts da página.
+        assertMaxQueries(2, () -> timelineService.getUserTimeline(readerId, null, 20));
+    }
+
+    @Test
+    void getUserSummary_SingleQuery() {
+        assertEquals(AUTHORS, assertMaxQueries(1, () -> userService.getUserSummary(readerId)).getFollowing());
+    }
+
+    @Test
+    void getCommentsForPost_SingleQuery() {
+        assertEquals(AUTHORS, assertMaxQueries(1, () -> commentService.getCommentsForPost(postIds.get(0), null, 20)).size());
+    }
+
+    private Long registerUser() {
+        int n = sequence.incrementAndGet();
+        UserRegisterDTO registerDTO = new UserRegisterDTO();
+        registerDTO.setUsername("orcamento" + n);
+        registerDTO.setEmail("orcamento" + n + "@example.com");
+        registerDTO.setPassword("senha12345");
+        registerDTO.setFirstName("Orçamento");
+        registerDTO.setLastName("Teste" + n);
+        return userService.registerUser(registerDTO).getId();
+    }
+}
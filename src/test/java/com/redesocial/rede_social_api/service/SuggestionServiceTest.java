@@ -0,0 +1,122 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.UserSuggestionDTO;
+import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.repository.FollowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SuggestionServiceTest {
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private UserService userService;
+
+    private FollowGraphIndex followGraphIndex;
+    private SuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        followGraphIndex = new FollowGraphIndex(followRepository);
+        suggestionService = new SuggestionService(followGraphIndex, userService, 300);
+        lenient().when(userService.findUserEntitiesByIds(anyCollection())).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                users.add(new User(id, "user" + id, "password123", "user" + id + "@example.com", "Nome", "Sobrenome"));
+            }
+            return users;
+        });
+    }
+
+    @Test
+    void getSuggestions_RanksByMutualConnectionsAndSkipsAlreadyFollowed() {
+        loadGraph();
+        // 1 segue 2, 3 e 4; 5 é seguido por 2, 3 e 4; 6 por 2 e 3; 7 por 4; 3 já é seguido por 1.
+        follow(1, 2, 3, 4);
+        follow(2, 5, 6, 3, 1);
+        follow(3, 5, 6);
+        follow(4, 5, 7);
+
+        List<UserSuggestionDTO> result = suggestionService.getSuggestions(1L, 10);
+
+        assertEquals(List.of(5L, 6L, 7L), result.stream().map(UserSuggestionDTO::getId).toList());
+        assertEquals(List.of(3, 2, 1), result.stream().map(UserSuggestionDTO::getMutualConnections).toList());
+    }
+
+    @Test
+    void getSuggestions_LargeNetwork_UsesParallelTraversalAndKeepsTopK() {
+        loadGraph();
+        long[] followed = new long[SuggestionService.SPLIT_THRESHOLD * 4];
+        for (int i = 0; i < followed.length; i++) {
+            followed[i] = 1000 + i;
+            // O candidato 10 + k é seguido pelos primeiros (k + 1) * 4 seguidos do usuário 1.
+            for (int k = 0; k < 60; k++) {
+                if (i < (k + 1) * 4) {
+                    followGraphIndex.addEdge(followed[i], 10 + k);
+                }
+            }
+        }
+        follow(1, followed);
+
+        List<UserSuggestionDTO> result = suggestionService.getSuggestions(1L, SuggestionService.MAX_LIMIT);
+
+        assertEquals(SuggestionService.MAX_LIMIT, result.size());
+        assertEquals(69L, result.get(0).getId());
+        assertEquals(240, result.get(0).getMutualConnections());
+        assertEquals(20L, result.get(result.size() - 1).getId());
+    }
+
+    @Test
+    void getSuggestions_CachesUntilInvalidated() {
+        loadGraph();
+        follow(1, 2);
+        follow(2, 3);
+        assertEquals(1, suggestionService.getSuggestions(1L, 10).size());
+
+        follow(2, 4);
+        assertEquals(1, suggestionService.getSuggestions(1L, 10).size());
+
+        suggestionService.invalidate(1L);
+        assertEquals(2, suggestionService.getSuggestions(1L, 10).size());
+        assertEquals(1, suggestionService.getCacheStats().hits());
+        assertEquals(2, suggestionService.getCacheStats().misses());
+    }
+
+    @Test
+    void getSuggestions_IndexNotReady_ReturnsEmpty() {
+        assertTrue(suggestionService.getSuggestions(1L, 10).isEmpty());
+        verify(userService, never()).findUserEntitiesByIds(anyCollection());
+    }
+
+    @Test
+    void getSuggestions_InvalidLimit_ThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> suggestionService.getSuggestions(1L, 51));
+
+        assertEquals("O limite deve estar entre 1 e 50.", exception.getMessage());
+    }
+
+    private void loadGraph() {
+        when(followRepository.findEdgesAfter(eq(0L), any())).thenReturn(List.of());
+        followGraphIndex.rebuild();
+    }
+
+    private void follow(long followerId, long... followedIds) {
+        for (long followedId : followedIds) {
+            followGraphIndex.addEdge(followerId, followedId);
+        }
+    }
+}
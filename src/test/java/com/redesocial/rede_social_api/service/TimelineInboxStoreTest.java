@@ -0,0 +1,117 @@
+package com.redesocial.rede_social_api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimelineInboxStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private TimelineInboxStore inboxStore;
+
+    @BeforeEach
+    void setUp() {
+        inboxStore = new TimelineInboxStore(3, 2, 30, now::get);
+    }
+
+    @Test
+    void read_NotMaterialized_ReturnsNull() {
+        inboxStore.push(1L, 10L);
+
+        assertNull(inboxStore.read(1L));
+    }
+
+    @Test
+    void complete_KeepsNewestFirstAndMergesPushesDuringMaterialization() {
+        inboxStore.beginMaterialization(1L);
+        inboxStore.push(1L, 30L);
+        inboxStore.complete(1L, new long[]{20L, 10L});
+
+        assertArrayEquals(new long[]{30L, 20L, 10L}, inboxStore.read(1L).getPostIds());
+    }
+
+    @Test
+    void complete_FewerPostsThanCapacity_IsNotTruncated() {
+        inboxStore.beginMaterialization(1L);
+        inboxStore.complete(1L, new long[]{20L, 10L});
+
+        assertFalse(inboxStore.read(1L).isTruncated());
+    }
+
+    @Test
+    void push_FullInbox_DropsOldestPost() {
+        inboxStore.beginMaterialization(1L);
+        inboxStore.complete(1L, new long[]{30L, 20L, 10L});
+
+        inboxStore.push(1L, 40L);
+        inboxStore.push(1L, 5L);
+
+        assertArrayEquals(new long[]{40L, 30L, 20L}, inboxStore.read(1L).getPostIds());
+    }
+
+    @Test
+    void remove_DeletesPostFromInbox() {
+        inboxStore.beginMaterialization(1L);
+        inboxStore.complete(1L, new long[]{30L, 20L, 10L});
+
+        inboxStore.remove(1L, 20L);
+
+        assertArrayEquals(new long[]{30L, 10L}, inboxStore.read(1L).getPostIds());
+    }
+
+    @Test
+    void invalidate_DuringMaterialization_DiscardsStaleResult() {
+        inboxStore.beginMaterialization(1L);
+        inboxStore.invalidate(1L);
+        inboxStore.complete(1L, new long[]{20L, 10L});
+
+        assertNull(inboxStore.read(1L));
+    }
+
+    @Test
+    void push_BeyondInitialArray_GrowsUpToCapacity() {
+        inboxStore = new TimelineInboxStore(100, 2, 30, now::get);
+        inboxStore.beginMaterialization(1L);
+        inboxStore.complete(1L, new long[0]);
+
+        for (long postId = 1; postId <= 120; postId++) {
+            inboxStore.push(1L, postId);
+        }
+
+        long[] postIds = inboxStore.read(1L).getPostIds();
+        assertEquals(100, postIds.length);
+        assertEquals(120L, postIds[0]);
+        assertEquals(21L, postIds[99]);
+        assertTrue(inboxStore.read(1L).isTruncated());
+    }
+
+    @Test
+    void evictIdle_DropsOnlyInboxesNotReadRecently() {
+        inboxStore.beginMaterialization(1L);
+        inboxStore.complete(1L, new long[]{10L});
+        inboxStore.beginMaterialization(2L);
+        inboxStore.complete(2L, new long[]{20L});
+
+        now.addAndGet(20 * 60_000L);
+        inboxStore.read(2L);
+        now.addAndGet(20 * 60_000L);
+        inboxStore.evictIdle();
+
+        assertNull(inboxStore.read(1L));
+        assertNotNull(inboxStore.read(2L));
+        assertEquals(1, inboxStore.size());
+    }
+
+    @Test
+    void beginMaterialization_AtLimit_RefusesNewReaders() {
+        assertTrue(inboxStore.beginMaterialization(1L));
+        assertTrue(inboxStore.beginMaterialization(2L));
+
+        assertFalse(inboxStore.beginMaterialization(3L));
+        assertTrue(inboxStore.beginMaterialization(1L));
+        assertEquals(2, inboxStore.size());
+    }
+}
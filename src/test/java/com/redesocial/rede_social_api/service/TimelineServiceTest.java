@@ -0,0 +1,106 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.PostResponseDTO;
+import com.redesocial.rede_social_api.model.Post;
+import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.repository.FollowRepository;
+import com.redesocial.rede_social_api.repository.PostRepository;
+import com.redesocial.rede_social_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TimelineServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TimelineService timelineService;
+
+    private User reader;
+    private User regularAuthor;
+    private User popularAuthor;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        timelineService = new TimelineService(postRepository, followRepository, userRepository,
+                new TimelineInboxStore(10, 1000, 30), new FollowGraphIndex(followRepository), true, 1);
+        reader = new User(1L, "reader", "password123", "reader@example.com", "Reader", "User");
+        regularAuthor = new User(2L, "regular", "password123", "regular@example.com", "Regular", "User");
+        popularAuthor = new User(3L, "popular", "password123", "popular@example.com", "Popular", "User");
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void getUserTimeline_MergesPushedInboxWithPulledAccounts() {
+        Post newest = new Post(20L, "Post recente", now, regularAuthor);
+        Post pulled = new Post(15L, "Post de conta popular", now.minusMinutes(1), popularAuthor);
+        Post oldest = new Post(10L, "Post antigo", now.minusMinutes(2), regularAuthor);
+
+        when(followRepository.findFollowedIdsWithMoreFollowersThan(1L)).thenReturn(List.of(3L));
+        timelineService.loadPullAccounts();
+
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(followRepository.findFollowedIdsByFollowerId(1L)).thenReturn(Arrays.asList(2L, 3L));
+        when(postRepository.findRecentIdsByUserIdIn(eq(Arrays.asList(2L, 1L)), any())).thenReturn(Arrays.asList(20L, 10L));
+        when(postRepository.findAllById(Arrays.asList(20L, 10L))).thenReturn(Arrays.asList(oldest, newest));
+        when(followRepository.findFollowedIdsAmong(eq(1L), anyCollection())).thenReturn(List.of(3L));
+        when(postRepository.findTimelinePage(List.of(3L), PageRequest.of(0, 3))).thenReturn(List.of(pulled));
+
+        List<PostResponseDTO> result = timelineService.getUserTimeline(1L, null, 3);
+
+        assertEquals(Arrays.asList(20L, 15L, 10L), result.stream().map(PostResponseDTO::getId).toList());
+    }
+
+    @Test
+    void onPostCreated_AccountAboveThreshold_SkipsFanOut() {
+        Post post = new Post(30L, "Post de conta popular", now, popularAuthor);
+        when(followRepository.countByFollowed(popularAuthor)).thenReturn(5L);
+
+        timelineService.onPostCreated(post);
+
+        verify(followRepository, never()).findFollowerIdsByFollowedId(anyLong());
+    }
+
+    @Test
+    void onPostCreated_AccountBelowThreshold_PushesToFollowers() {
+        Post post = new Post(30L, "Post comum", now, regularAuthor);
+        when(followRepository.countByFollowed(regularAuthor)).thenReturn(1L);
+        when(followRepository.findFollowerIdsByFollowedId(2L)).thenReturn(List.of(1L));
+
+        timelineService.onPostCreated(post);
+
+        verify(followRepository, times(1)).findFollowerIdsByFollowedId(2L);
+    }
+
+    @Test
+    void mergeNewestFirst_OrdersByCreatedAtAndRemovesDuplicates() {
+        PostResponseDTO a = new PostResponseDTO(3L, "a", 2L, "regular", now);
+        PostResponseDTO b = new PostResponseDTO(2L, "b", 3L, "popular", now.minusMinutes(1));
+        PostResponseDTO c = new PostResponseDTO(1L, "c", 2L, "regular", now.minusMinutes(2));
+
+        List<PostResponseDTO> result = TimelineService.mergeNewestFirst(
+                Arrays.asList(Arrays.asList(a, c), Arrays.asList(b, c)), 10);
+
+        assertEquals(Arrays.asList(a, b, c), result);
+    }
+}
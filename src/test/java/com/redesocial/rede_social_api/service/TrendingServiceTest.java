@@ -0,0 +1,110 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.repository.CommentRepository;
+import com.redesocial.rede_social_api.repository.LikeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TrendingServiceTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    private AtomicLong now;
+    private TrendingService trendingService;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_700_000_000_000L);
+        // Meia-vida de 60 minutos, curtida vale 1 e comentário vale 3.
+        trendingService = new TrendingService(likeRepository, commentRepository, 60, 1.0, 3.0, now::get);
+    }
+
+    @Test
+    void getTrendingPostIds_OrdersByWeightedEngagement() {
+        trendingService.recordLike(1L);
+        trendingService.recordLike(1L);
+        trendingService.recordComment(2L);
+        trendingService.recordLike(3L);
+
+        assertEquals(List.of(2L, 1L, 3L), trendingService.getTrendingPostIds(10));
+        assertEquals(List.of(2L, 1L), trendingService.getTrendingPostIds(2));
+    }
+
+    @Test
+    void recentEngagement_OutranksOlderEngagement() {
+        trendingService.recordLike(1L);
+        trendingService.recordLike(1L);
+        trendingService.recordLike(1L);
+
+        // Duas meias-vidas depois, as 3 curtidas antigas valem 0,75; uma nova curtida vale 1.
+        now.addAndGet(2 * HOUR);
+        trendingService.recordLike(2L);
+
+        assertEquals(List.of(2L, 1L), trendingService.getTrendingPostIds(10));
+    }
+
+    @Test
+    void remove_DropsPostAndPromotesNextBest() {
+        for (long postId = 1; postId <= TrendingService.MAX_LIMIT + 1; postId++) {
+            for (int i = 0; i < postId; i++) {
+                trendingService.recordLike(postId);
+            }
+        }
+        List<Long> before = trendingService.getTrendingPostIds(TrendingService.MAX_LIMIT);
+        assertFalse(before.contains(1L));
+
+        trendingService.remove(TrendingService.MAX_LIMIT + 1L);
+
+        List<Long> after = trendingService.getTrendingPostIds(TrendingService.MAX_LIMIT);
+        assertFalse(after.contains(TrendingService.MAX_LIMIT + 1L));
+        assertTrue(after.contains(1L));
+        assertEquals(TrendingService.MAX_LIMIT, after.size());
+    }
+
+    @Test
+    void prune_DropsDecayedPostsAndKeepsOrder() {
+        trendingService.recordComment(1L);
+        now.addAndGet(5 * HOUR);
+        trendingService.recordLike(2L);
+        trendingService.recordLike(3L);
+        trendingService.recordLike(3L);
+
+        // Após 5 meias-vidas o comentário do post 1 vale menos que o mínimo.
+        trendingService.prune();
+
+        assertEquals(List.of(3L, 2L), trendingService.getTrendingPostIds(10));
+    }
+
+    @Test
+    void record_FarInTheFuture_RenormalizesWithoutOverflow() {
+        trendingService.recordLike(1L);
+        now.addAndGet(1000 * HOUR);
+        trendingService.recordLike(2L);
+        trendingService.recordComment(3L);
+
+        assertEquals(List.of(3L, 2L, 1L), trendingService.getTrendingPostIds(10));
+    }
+
+    @Test
+    void getTrendingPostIds_InvalidLimit_ThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> trendingService.getTrendingPostIds(TrendingService.MAX_LIMIT + 1));
+
+        assertEquals("O limite deve estar entre 1 e 100.", exception.getMessage());
+    }
+}
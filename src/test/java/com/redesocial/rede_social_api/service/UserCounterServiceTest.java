@@ -0,0 +1,159 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.dto.FollowDTO;
+import com.redesocial.rede_social_api.dto.LikeDTO;
+import com.redesocial.rede_social_api.dto.PostCreateDTO;
+import com.redesocial.rede_social_api.dto.UserRegisterDTO;
+import com.redesocial.rede_social_api.dto.UserSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Roda sobre o H2 no modo MySQL: valida o SQL dos incrementos, da reconciliação e da consulta do resumo.
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserCounterServiceTest {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserCounterService userCounterService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private FollowImportService followImportService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private LikeCounterService likeCounterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long alice;
+    private Long bob;
+    private Long carol;
+
+    @BeforeEach
+    void setUp() {
+        alice = registerUser();
+        bob = registerUser();
+        carol = registerUser();
+    }
+
+    @Test
+    void writes_KeepCountersInSync() {
+        follow(alice, bob);
+        follow(carol, bob);
+        followService.unfollowUser(followDTO(carol, bob));
+        followImportService.importFollows(new ByteArrayInputStream((bob + "," + alice + "\n" + carol + "," + alice + "\n")
+                .getBytes(StandardCharsets.UTF_8)), FollowImportService.Format.CSV);
+        Long postId = createPost(bob);
+        createPost(bob);
+        like(alice, postId);
+        like(carol, postId);
+        likeCounterService.flush();
+
+        UserSummaryDTO bobSummary = userService.getUserSummary(bob);
+        assertEquals(1, bobSummary.getFollowers());
+        assertEquals(1, bobSummary.getFollowing());
+        assertEquals(2, bobSummary.getPosts());
+        assertEquals(2, bobSummary.getLikesReceived());
+
+        UserSummaryDTO aliceSummary = userService.getUserSummary(alice);
+        assertEquals(2, aliceSummary.getFollowers());
+        assertEquals(1, aliceSummary.getFollowing());
+        assertEquals(0, aliceSummary.getPosts());
+    }
+
+    @Test
+    void followUser_Duplicate_DoesNotIncrementCounters() {
+        follow(alice, bob);
+
+        assertThrows(IllegalArgumentException.class, () -> follow(alice, bob));
+
+        assertEquals(1, userService.getUserSummary(bob).getFollowers());
+        assertEquals(1, userService.getUserSummary(alice).getFollowing());
+    }
+
+    @Test
+    void reconcile_FixesDriftAndMissingRows() {
+        follow(alice, bob);
+        createPost(alice);
+        jdbcTemplate.update("update user_counters set followers = 42 where user_id = ?", bob);
+        jdbcTemplate.update("delete from user_counters where user_id = ?", alice);
+
+        UserSummaryDTO aliceSummary = userService.getUserSummary(alice);
+        assertEquals(1, aliceSummary.getFollowing());
+        assertEquals(1, aliceSummary.getPosts());
+
+        userCounterService.reconcile();
+
+        assertEquals(1, userService.getUserSummary(bob).getFollowers());
+    }
+
+    @Test
+    void reconcile_WithLikesStillBuffered_DoesNotCountThemTwice() {
+        Long postId = createPost(bob);
+        like(alice, postId);
+
+        userCounterService.reconcile();
+        likeCounterService.flush();
+
+        assertEquals(1, userService.getUserSummary(bob).getLikesReceived());
+    }
+
+    private void follow(Long followerId, Long followedId) {
+        followService.followUser(followDTO(followerId, followedId));
+    }
+
+    private static FollowDTO followDTO(Long followerId, Long followedId) {
+        FollowDTO followDTO = new FollowDTO();
+        followDTO.setFollowerId(followerId);
+        followDTO.setFollowedId(followedId);
+        return followDTO;
+    }
+
+    private Long createPost(Long userId) {
+        PostCreateDTO postCreateDTO = new PostCreateDTO();
+        postCreateDTO.setContent("Post do usuário " + userId);
+        return postService.createPost(postCreateDTO, userId).getId();
+    }
+
+    private void like(Long userId, Long postId) {
+        LikeDTO likeDTO = new LikeDTO();
+        likeDTO.setUserId(userId);
+        likeDTO.setPostId(postId);
+        likeService.likePost(likeDTO);
+    }
+
+    private Long registerUser() {
+        int n = sequence.incrementAndGet();
+        UserRegisterDTO registerDTO = new UserRegisterDTO();
+        registerDTO.setUsername("contador" + n);
+        registerDTO.setEmail("contador" + n + "@example.com");
+        registerDTO.setPassword("senha12345");
+        registerDTO.setFirstName("Contador");
+        registerDTO.setLastName("Teste" + n);
+        return userService.registerUser(registerDTO).getId();
+    }
+}
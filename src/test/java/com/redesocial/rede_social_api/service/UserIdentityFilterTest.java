@@ -0,0 +1,62 @@
+package com.redesocial.rede_social_api.service;
+
+import com.redesocial.rede_social_api.repository.UserIdentity;
+import com.redesocial.rede_social_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserIdentityFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdentityFilter userIdentityFilter;
+
+    @BeforeEach
+    void setUp() {
+        userIdentityFilter = new UserIdentityFilter(userRepository, 1000);
+    }
+
+    @Test
+    void mightContain_BeforeLoad_AlwaysMaybe() {
+        assertFalse(userIdentityFilter.isReady());
+        assertTrue(userIdentityFilter.mightContainUsername("qualquer"));
+        assertTrue(userIdentityFilter.mightContainEmail("qualquer@example.com"));
+    }
+
+    @Test
+    void load_IndexesExistingUsersIgnoringCaseAndAccents() {
+        UserIdentity identity = mock(UserIdentity.class);
+        when(identity.getId()).thenReturn(1L);
+        when(identity.getUsername()).thenReturn("José");
+        when(identity.getEmail()).thenReturn("Jose@Example.com");
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of(identity));
+
+        userIdentityFilter.load();
+
+        assertTrue(userIdentityFilter.isReady());
+        assertTrue(userIdentityFilter.mightContainUsername("jose"));
+        assertTrue(userIdentityFilter.mightContainEmail("jose@example.com"));
+        assertFalse(userIdentityFilter.mightContainUsername("maria"));
+    }
+
+    @Test
+    void addUsername_DuringLoad_IsNotLost() {
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of());
+        userIdentityFilter.addUsername("novo");
+
+        userIdentityFilter.load();
+
+        assertTrue(userIdentityFilter.mightContainUsername("novo"));
+    }
+}
@@ -2,14 +2,22 @@ package com.redesocial.rede_social_api.service;
 
 import com.redesocial.rede_social_api.dto.UserRegisterDTO;
 import com.redesocial.rede_social_api.dto.UserResponseDTO;
+import com.redesocial.rede_social_api.dto.UserSummaryDTO;
 import com.redesocial.rede_social_api.model.User;
+import com.redesocial.rede_social_api.model.UserCounters;
+import com.redesocial.rede_social_api.repository.UserCountersRepository;
+import com.redesocial.rede_social_api.repository.UserIdentity;
 import com.redesocial.rede_social_api.repository.UserRepository;
+import com.redesocial.rede_social_api.repository.UserSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +32,21 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserIdentityFilter userIdentityFilter;
+
+    @Mock
+    private UserCountersRepository userCountersRepository;
+
+    @Mock
+    private UserCounterService userCounterService;
+
+    @Mock
+    private ContentVersions contentVersions;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private UserService userService;
 
@@ -32,6 +55,8 @@ public class UserServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(userIdentityFilter.mightContainUsername(anyString())).thenReturn(true);
+        lenient().when(userIdentityFilter.mightContainEmail(anyString())).thenReturn(true);
         user = new User(1L, "testuser", "password123", "test@example.com", "Test", "User");
         userRegisterDTO = new UserRegisterDTO();
         userRegisterDTO.setUsername("newuser");
@@ -45,7 +70,7 @@ public class UserServiceTest {
     void registerUser_Success() {
         when(userRepository.existsByUsername(userRegisterDTO.getUsername())).thenReturn(false);
         when(userRepository.existsByEmail(userRegisterDTO.getEmail())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         UserResponseDTO result = userService.registerUser(userRegisterDTO);
 
@@ -54,7 +79,7 @@ public class UserServiceTest {
         assertEquals(user.getEmail(), result.getEmail());
         verify(userRepository, times(1)).existsByUsername(userRegisterDTO.getUsername());
         verify(userRepository, times(1)).existsByEmail(userRegisterDTO.getEmail());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -68,7 +93,7 @@ public class UserServiceTest {
         assertEquals("Nome de usuário já existe.", exception.getMessage());
         verify(userRepository, times(1)).existsByUsername(userRegisterDTO.getUsername());
         verify(userRepository, never()).existsByEmail(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -83,22 +108,86 @@ public class UserServiceTest {
         assertEquals("Email já existe.", exception.getMessage());
         verify(userRepository, times(1)).existsByUsername(userRegisterDTO.getUsername());
         verify(userRepository, times(1)).existsByEmail(userRegisterDTO.getEmail());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void registerUser_FilterNegative_SkipsExistenceQueries() {
+        when(userIdentityFilter.mightContainUsername(userRegisterDTO.getUsername())).thenReturn(false);
+        when(userIdentityFilter.mightContainEmail(userRegisterDTO.getEmail())).thenReturn(false);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+
+        userService.registerUser(userRegisterDTO);
+
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userIdentityFilter, times(1)).addUsername(userRegisterDTO.getUsername());
+        verify(userIdentityFilter, times(1)).addEmail(userRegisterDTO.getEmail());
+    }
+
+    @Test
+    void registerUser_ConcurrentDuplicateMissedByFilter_ThrowsExistingMessage() {
+        when(userIdentityFilter.mightContainUsername(userRegisterDTO.getUsername())).thenReturn(false);
+        when(userIdentityFilter.mightContainEmail(userRegisterDTO.getEmail())).thenReturn(false);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("uk_users_username"));
+        when(userRepository.existsByUsername(userRegisterDTO.getUsername())).thenReturn(true);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.registerUser(userRegisterDTO);
+        });
+
+        assertEquals("Nome de usuário já existe.", exception.getMessage());
+        verify(userCounterService, never()).createFor(anyLong());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void updateUser_ConcurrentEmailMissedByFilter_ThrowsExistingMessage() {
+        UserResponseDTO update = new UserResponseDTO();
+        update.setEmail("taken@example.com");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userIdentityFilter.mightContainEmail("taken@example.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("uk_users_email"));
+        when(userRepository.existsByEmail("taken@example.com")).thenReturn(true);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.updateUser(1L, update);
+        });
+
+        assertEquals("Email já cadastrado.", exception.getMessage());
+        verify(contentVersions, never()).onUserChanged();
     }
 
     @Test
     void getAllUsers_ReturnsListOfUsers() {
-        User user2 = new User(2L, "anotheruser", "pass456", "another@example.com", "Another", "User");
-        List<User> users = Arrays.asList(user, user2);
-        when(userRepository.findAll()).thenReturn(users);
+        UserIdentity identity1 = identity(1L, "testuser", "test@example.com");
+        UserIdentity identity2 = identity(2L, "anotheruser", "another@example.com");
+        when(userRepository.findIdentitiesAfter(0L, PageRequest.of(0, 20))).thenReturn(Arrays.asList(identity1, identity2));
 
-        List<UserResponseDTO> result = userService.getAllUsers();
+        List<UserResponseDTO> result = userService.getAllUsers(null, 20);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals(user.getUsername(), result.get(0).getUsername());
-        assertEquals(user2.getUsername(), result.get(1).getUsername());
-        verify(userRepository, times(1)).findAll();
+        assertEquals("testuser", result.get(0).getUsername());
+        assertEquals("anotheruser", result.get(1).getUsername());
+        verify(userRepository, times(1)).findIdentitiesAfter(0L, PageRequest.of(0, 20));
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllUsers_InvalidLimit_ThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> userService.getAllUsers(null, 101));
+
+        assertEquals("O limite deve estar entre 1 e 100.", exception.getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    private static UserIdentity identity(Long id, String username, String email) {
+        UserIdentity identity = mock(UserIdentity.class);
+        when(identity.getId()).thenReturn(id);
+        when(identity.getUsername()).thenReturn(username);
+        when(identity.getEmail()).thenReturn(email);
+        return identity;
     }
 
     @Test
@@ -178,4 +267,57 @@ public class UserServiceTest {
         assertEquals(user.getUsername(), result.getUsername());
         assertEquals(user.getEmail(), result.getEmail());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserSummary_ReadsCountersInSingleQuery() {
+        UserSummary summary = summary(120L, 80L, 35L, 940L);
+        when(userCountersRepository.findSummaryById(1L)).thenReturn(Optional.of(summary));
+
+        UserSummaryDTO result = userService.getUserSummary(1L);
+
+        assertEquals("testuser", result.getUsername());
+        assertEquals("Test", result.getFirstName());
+        assertEquals(120L, result.getFollowers());
+        assertEquals(80L, result.getFollowing());
+        assertEquals(35L, result.getPosts());
+        assertEquals(940L, result.getLikesReceived());
+        verifyNoInteractions(userRepository, userCounterService);
+    }
+
+    @Test
+    void getUserSummary_MissingCounters_ReconcilesUser() {
+        UserSummary summary = summary(null, null, null, null);
+        when(userCountersRepository.findSummaryById(1L)).thenReturn(Optional.of(summary));
+        when(userCounterService.reconcileUser(1L)).thenReturn(new UserCounters(1L, 3L, 2L, 1L, 0L));
+
+        UserSummaryDTO result = userService.getUserSummary(1L);
+
+        assertEquals(3L, result.getFollowers());
+        assertEquals(2L, result.getFollowing());
+        assertEquals(1L, result.getPosts());
+        verify(userCounterService, times(1)).reconcileUser(1L);
+    }
+
+    @Test
+    void getUserSummary_UserNotFound_ThrowsException() {
+        when(userCountersRepository.findSummaryById(99L)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> userService.getUserSummary(99L));
+
+        assertEquals("Usuário não encontrado com ID: 99", exception.getMessage());
+    }
+
+    private UserSummary summary(Long followers, Long following, Long posts, Long likesReceived) {
+        UserSummary summary = mock(UserSummary.class);
+        when(summary.getId()).thenReturn(user.getId());
+        when(summary.getUsername()).thenReturn(user.getUsername());
+        when(summary.getEmail()).thenReturn(user.getEmail());
+        when(summary.getFirstName()).thenReturn(user.getFirstName());
+        when(summary.getLastName()).thenReturn(user.getLastName());
+        when(summary.getFollowers()).thenReturn(followers);
+        lenient().when(summary.getFollowing()).thenReturn(following);
+        lenient().when(summary.getPosts()).thenReturn(posts);
+        lenient().when(summary.getLikesReceived()).thenReturn(likesReceived);
+        return summary;
+    }
+}
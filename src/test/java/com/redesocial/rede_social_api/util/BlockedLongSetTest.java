@@ -0,0 +1,65 @@
+package com.redesocial.rede_social_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockedLongSetTest {
+
+    @Test
+    void insertAndRemove_MatchSortedSetAcrossBlockSplits() {
+        Random random = new Random(42);
+        TreeSet<Long> expected = new TreeSet<>();
+        BlockedLongSet set = BlockedLongSet.EMPTY;
+        for (int i = 0; i < 20_000; i++) {
+            long value = random.nextInt(8_000);
+            if (random.nextInt(4) == 0) {
+                expected.remove(value);
+                set = set.remove(value);
+            } else {
+                expected.add(value);
+                set = set.insert(value);
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), set.toArray());
+        for (long value = -1; value <= 8_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    void insert_LeavesPreviousVersionUnchanged() {
+        long[] values = new long[5_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 2L;
+        }
+        BlockedLongSet before = BlockedLongSet.of(values);
+
+        BlockedLongSet after = before.insert(4_001L).remove(0L);
+
+        assertEquals(5_000, before.size());
+        assertTrue(before.contains(0L));
+        assertFalse(before.contains(4_001L));
+        assertEquals(5_000, after.size());
+        assertTrue(after.contains(4_001L));
+        assertFalse(after.contains(0L));
+        assertSame(before, before.insert(2L));
+        assertSame(before, before.remove(3L));
+    }
+
+    @Test
+    void union_MergesSortedAdditions() {
+        BlockedLongSet set = BlockedLongSet.of(new long[]{1L, 5L, 9L});
+
+        BlockedLongSet merged = set.union(new long[]{2L, 5L, 10L});
+
+        assertArrayEquals(new long[]{1L, 2L, 5L, 9L, 10L}, merged.toArray());
+        assertSame(set, set.union(new long[]{5L}));
+        assertArrayEquals(new long[]{3L}, BlockedLongSet.EMPTY.union(new long[]{3L}).toArray());
+    }
+}
@@ -0,0 +1,68 @@
+package com.redesocial.rede_social_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostingListTest {
+
+    @Test
+    void add_RoundTripsLargeGapsAndFrequencies() {
+        PostingList list = new PostingList();
+        list.add(0, 1);
+        list.add(127, 300);
+        list.add(1_000_000, 2);
+
+        assertEquals(List.of(0, 1, 127, 300, 1_000_000, 2), read(list));
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    void add_OutOfOrder_ThrowsException() {
+        PostingList list = new PostingList();
+        list.add(5, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> list.add(5, 1));
+    }
+
+    @Test
+    void append_ShiftsDocumentsAndKeepsAddingInOrder() {
+        PostingList first = new PostingList();
+        first.add(1, 1);
+        first.add(4, 2);
+        PostingList second = new PostingList();
+        second.add(0, 3);
+        second.add(2, 1);
+
+        first.append(second, 10);
+        first.add(20, 1);
+
+        assertEquals(List.of(1, 1, 4, 2, 10, 3, 12, 1, 20, 1), read(first));
+        assertEquals(5, first.size());
+    }
+
+    @Test
+    void remap_DropsRemovedDocumentsAndRenumbers() {
+        PostingList list = new PostingList();
+        list.add(0, 1);
+        list.add(1, 2);
+        list.add(3, 3);
+
+        PostingList remapped = list.remap(new int[]{0, -1, 1, 2});
+
+        assertEquals(List.of(0, 1, 2, 3), read(remapped));
+    }
+
+    private static List<Integer> read(PostingList list) {
+        List<Integer> values = new ArrayList<>();
+        PostingList.Cursor cursor = list.cursor();
+        while (cursor.next()) {
+            values.add(cursor.doc());
+            values.add(cursor.freq());
+        }
+        return values;
+    }
+}
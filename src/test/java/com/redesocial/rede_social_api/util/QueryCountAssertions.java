@@ -0,0 +1,31 @@
+package com.redesocial.rede_social_api.util;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Falha o teste quando a ação executa mais instruções SQL que o orçamento. Exige o contexto Spring com o
+// StatementInspector de QueryCountConfig, que só é registrado com redesocial.query-count.enabled=true (ligado em
+// application-test.properties). Sem ele nada é contado e qualquer orçamento passa sem verificar nada.
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertMaxQueries(long max, Supplier<T> action) {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            T result = action.get();
+            if (scope.count() > max) {
+                fail("Esperado no máximo " + max + " instruções SQL, mas foram executadas " + scope.count() + ".");
+            }
+            return result;
+        }
+    }
+
+    public static void assertMaxQueries(long max, Runnable action) {
+        assertMaxQueries(max, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.redesocial.rede_social_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnowflakeTest {
+
+    private static final long NOW = Snowflake.EPOCH + 1_000_000L;
+
+    @Test
+    void nextId_EncodesTimestampAndNode() {
+        Snowflake snowflake = new Snowflake(5, () -> NOW);
+
+        long id = snowflake.nextId();
+
+        assertEquals(NOW, Snowflake.timestampMillis(id));
+        assertEquals(5, (id >>> Snowflake.SEQUENCE_BITS) & Snowflake.MAX_NODE_ID);
+    }
+
+    @Test
+    void nextId_SequenceExhausted_BorrowsNextMillisecond() {
+        Snowflake snowflake = new Snowflake(0, () -> NOW);
+
+        long previous = snowflake.nextId();
+        for (int i = 1; i <= 1 << Snowflake.SEQUENCE_BITS; i++) {
+            long id = snowflake.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+
+        assertEquals(NOW + 1, Snowflake.timestampMillis(previous));
+    }
+
+    @Test
+    void nextId_ClockMovesBackwards_StaysMonotonic() {
+        AtomicLong clock = new AtomicLong(NOW);
+        Snowflake snowflake = new Snowflake(0, clock::get);
+
+        long first = snowflake.nextId();
+        clock.set(NOW - 10);
+        long second = snowflake.nextId();
+
+        assertTrue(second > first);
+    }
+
+    @Test
+    void nextId_ConcurrentCallers_NeverRepeat() {
+        Snowflake snowflake = new Snowflake(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(snowflake.nextId()));
+
+        assertEquals(100_000, ids.size());
+    }
+
+    @Test
+    void constructor_InvalidNode_ThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new Snowflake(1024));
+
+        assertEquals("O ID do nó deve estar entre 0 e 1023.", exception.getMessage());
+    }
+}